@@ -1,6 +1,7 @@
 package net.leolifeless.lockonmod;
 
 import net.leolifeless.lockonmod.compat.ThirdPersonCompatibility;
+import net.leolifeless.lockonmod.targeting.CompiledTargetFilter;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -11,6 +12,8 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Enhanced Configuration handler for the Lock-On Mod with third person compatibility
@@ -20,6 +23,14 @@ public class LockOnConfig {
     public static final ForgeConfigSpec CLIENT_SPEC;
     public static final ClientConfig CLIENT;
 
+    // Rebuilt on every config load/reload
+    private static volatile LockOnConfigSnapshot snapshot = null;
+    // { angle in degrees, cosine }, swapped as a whole so readers never see a torn pair
+    private static volatile double[] coneCos = { Double.NaN, 1.0 };
+    private static volatile boolean snapshotFromLoadedSpec = false;
+    private static volatile CompiledTargetFilter targetFilter = null;
+    private static final AtomicLong configVersion = new AtomicLong();
+
     static {
         final Pair<ClientConfig, ForgeConfigSpec> specPair = new ForgeConfigSpec.Builder().configure(ClientConfig::new);
         CLIENT_SPEC = specPair.getRight();
@@ -36,11 +47,14 @@ public class LockOnConfig {
         public final ForgeConfigSpec.EnumValue<TargetingMode> targetingMode;
         public final ForgeConfigSpec.BooleanValue requireLineOfSight;
         public final ForgeConfigSpec.BooleanValue penetrateGlass;
+        public final ForgeConfigSpec.ConfigValue<List<? extends String>> transparentBlocks;
+        public final ForgeConfigSpec.EnumValue<FluidPolicy> lineOfSightFluids;
         public final ForgeConfigSpec.DoubleValue targetingAngle;
         public final ForgeConfigSpec.BooleanValue smartTargeting;
         public final ForgeConfigSpec.DoubleValue healthPriorityWeight;
         public final ForgeConfigSpec.DoubleValue distancePriorityWeight;
         public final ForgeConfigSpec.DoubleValue anglePriorityWeight;
+        public final ForgeConfigSpec.ConfigValue<List<? extends String>> customScoringWeights;
 
         // === THIRD PERSON COMPATIBILITY SETTINGS ===
         public final ForgeConfigSpec.BooleanValue enableThirdPersonEnhancements;
@@ -59,6 +73,8 @@ public class LockOnConfig {
         public final ForgeConfigSpec.DoubleValue maxRotationSpeed;
         public final ForgeConfigSpec.BooleanValue smoothCameraEnabled;
         public final ForgeConfigSpec.DoubleValue cameraSmoothness;
+        public final ForgeConfigSpec.BooleanValue springCamera;
+        public final ForgeConfigSpec.DoubleValue cameraSettleTime;
         public final ForgeConfigSpec.BooleanValue adaptiveRotationEnabled;
         public final ForgeConfigSpec.BooleanValue predictiveTargeting;
         public final ForgeConfigSpec.BooleanValue autoBreakOnObstruction;
@@ -105,10 +121,13 @@ public class LockOnConfig {
         public final ForgeConfigSpec.BooleanValue toggleMode;
         public final ForgeConfigSpec.BooleanValue cycleThroughTargets;
         public final ForgeConfigSpec.BooleanValue reverseScrollCycling;
+        public final ForgeConfigSpec.BooleanValue flickToSwitchTargets;
+        public final ForgeConfigSpec.DoubleValue flickThreshold;
 
         // === PERFORMANCE SETTINGS ===
         public final ForgeConfigSpec.IntValue updateFrequency;
         public final ForgeConfigSpec.IntValue maxTargetsToSearch;
+        public final ForgeConfigSpec.IntValue lineOfSightRaysPerEntity;
         public final ForgeConfigSpec.BooleanValue disableInCreative;
         public final ForgeConfigSpec.BooleanValue disableInSpectator;
 
@@ -137,6 +156,14 @@ public class LockOnConfig {
                     .comment("Allow targeting through glass blocks")
                     .define("penetrateGlass", true);
 
+            transparentBlocks = builder
+                    .comment("Extra blocks to target through, as block IDs or #tags (e.g. minecraft:iron_bars, #minecraft:leaves)")
+                    .defineList("transparentBlocks", Arrays.asList(), obj -> obj instanceof String);
+
+            lineOfSightFluids = builder
+                    .comment("Fluids that block line of sight: NONE, SOURCE_ONLY or ANY")
+                    .defineEnum("lineOfSightFluids", FluidPolicy.NONE);
+
             targetingAngle = builder
                     .comment("Maximum angle from crosshair to consider targets (degrees)")
                     .defineInRange("targetingAngle", 45.0, 10.0, 180.0);
@@ -157,6 +184,12 @@ public class LockOnConfig {
                     .comment("Weight for angle-based targeting priority")
                     .defineInRange("anglePriorityWeight", 0.3, 0.0, 1.0);
 
+            customScoringWeights = builder
+                    .comment("Scorer weights for the CUSTOM targeting mode, as scorer_id=weight (lower total score wins).",
+                            "Built-in scorers: lockonmod:distance, lockonmod:angle, lockonmod:health, lockonmod:missing_health, lockonmod:threat, lockonmod:hidden")
+                    .defineList("customScoringWeights", Arrays.asList("lockonmod:distance=0.1", "lockonmod:angle=1.0"),
+                            obj -> obj instanceof String);
+
             builder.pop();
 
             // === THIRD PERSON COMPATIBILITY SETTINGS ===
@@ -227,6 +260,15 @@ public class LockOnConfig {
                     .comment("Camera smoothness factor (higher = smoother)")
                     .defineInRange("cameraSmoothness", 0.1, 0.01, 1.0);
 
+            springCamera = builder
+                    .comment("Track with a critically damped spring that settles in cameraSettleTime,",
+                            "instead of the cameraSmoothness / rotation speed interpolation")
+                    .define("springCamera", true);
+
+            cameraSettleTime = builder
+                    .comment("Seconds the spring camera takes to settle on a target")
+                    .defineInRange("cameraSettleTime", 0.3, 0.05, 2.0);
+
             adaptiveRotationEnabled = builder
                     .comment("Enable adaptive rotation speed based on distance and angle")
                     .define("adaptiveRotationEnabled", true);
@@ -402,6 +444,14 @@ public class LockOnConfig {
                     .comment("Reverse scroll direction for target cycling")
                     .define("reverseScrollCycling", false);
 
+            flickToSwitchTargets = builder
+                    .comment("Switch to the nearest target on the side you flick the mouse or stick towards while locked")
+                    .define("flickToSwitchTargets", false);
+
+            flickThreshold = builder
+                    .comment("How far (degrees) you have to flick the view to switch targets")
+                    .defineInRange("flickThreshold", 25.0, 5.0, 90.0);
+
             builder.pop();
 
             // === PERFORMANCE SETTINGS ===
@@ -416,6 +466,10 @@ public class LockOnConfig {
                     .comment("Maximum number of targets to search")
                     .defineInRange("maxTargetsToSearch", 50, 5, 200);
 
+            lineOfSightRaysPerEntity = builder
+                    .comment("Line of sight rays per target (eyes, then body, then feet), stops at the first clear one")
+                    .defineInRange("lineOfSightRaysPerEntity", 3, 1, 3);
+
             disableInCreative = builder
                     .comment("Disable lock-on in creative mode")
                     .define("disableInCreative", false);
@@ -434,7 +488,8 @@ public class LockOnConfig {
         MOST_DAMAGED,
         CROSSHAIR_CENTERED,
         THREAT_LEVEL,
-        SMART
+        SMART,
+        CUSTOM
     }
 
     public enum IndicatorType {
@@ -450,610 +505,282 @@ public class LockOnConfig {
         METERS
     }
 
-    // === SAFE STATIC ACCESSORS WITH FALLBACKS ===
-
-    // Targeting Settings
-    public static double getMaxLockOnDistance() {
-        try {
-            double baseDistance = CLIENT.maxLockOnDistance.get();
-            if (ThirdPersonCompatibility.isThirdPersonActive() && CLIENT.enableThirdPersonEnhancements.get()) {
-                return ThirdPersonCompatibility.getAdjustedTargetingRange(baseDistance);
-            }
-            return baseDistance;
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get max lock-on distance, using default: {}", e.getMessage());
-            return 50.0;
-        }
-    }
-
-    public static double getSearchRadius() {
-        try {
-            return CLIENT.searchRadius.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get search radius, using default: {}", e.getMessage());
-            return 30.0;
-        }
-    }
-
-    public static TargetingMode getTargetingMode() {
-        try {
-            return CLIENT.targetingMode.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get targeting mode, using default: {}", e.getMessage());
-            return TargetingMode.CLOSEST;
-        }
-    }
-
-    public static boolean requireLineOfSight() {
-        try {
-            return CLIENT.requireLineOfSight.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get line of sight setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean penetrateGlass() {
-        try {
-            return CLIENT.penetrateGlass.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get penetrate glass setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static double getTargetingAngle() {
-        try {
-            double baseAngle = CLIENT.targetingAngle.get();
-            if (ThirdPersonCompatibility.isThirdPersonActive() && CLIENT.enableThirdPersonEnhancements.get()) {
-                return ThirdPersonCompatibility.getAdjustedTargetingAngle(baseAngle);
-            }
-            return baseAngle;
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get targeting angle, using default: {}", e.getMessage());
-            return 45.0;
-        }
-    }
-
-    public static boolean isSmartTargetingEnabled() {
-        try {
-            return CLIENT.smartTargeting.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get smart targeting setting, using default: {}", e.getMessage());
-            return true;
-        }
+    public enum FluidPolicy {
+        NONE,
+        SOURCE_ONLY,
+        ANY
     }
 
-    public static double getHealthPriorityWeight() {
-        try {
-            return CLIENT.healthPriorityWeight.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get health priority weight, using default: {}", e.getMessage());
-            return 0.3;
-        }
-    }
+    // === SNAPSHOT ===
 
-    public static double getDistancePriorityWeight() {
-        try {
-            return CLIENT.distancePriorityWeight.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get distance priority weight, using default: {}", e.getMessage());
-            return 0.4;
+    /**
+     * Current immutable config snapshot. Before the config file has loaded this returns a
+     * snapshot of the defaults, which is replaced as soon as the spec becomes available.
+     */
+    public static LockOnConfigSnapshot snapshot() {
+        LockOnConfigSnapshot current = snapshot;
+        if (current == null || (!snapshotFromLoadedSpec && CLIENT_SPEC.isLoaded())) {
+            rebuildCompiledState();
+            current = snapshot;
         }
+        return current;
     }
 
-    public static double getAnglePriorityWeight() {
-        try {
-            return CLIENT.anglePriorityWeight.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get angle priority weight, using default: {}", e.getMessage());
-            return 0.3;
-        }
+    /**
+     * Increases every time the config is (re)loaded
+     */
+    public static long getConfigVersion() {
+        return snapshot().version();
+    }
+
+    private static LockOnConfigSnapshot captureSnapshot() {
+        boolean showTargetDistance = read(CLIENT.showTargetDistance::get, true, "show target distance setting");
+        boolean showTargetHealth   = read(CLIENT.showTargetHealth::get, true, "show target health setting");
+
+        return new LockOnConfigSnapshot(
+                configVersion.incrementAndGet(),
+
+                read(CLIENT.maxLockOnDistance::get, 50.0, "max lock-on distance"),
+                read(CLIENT.searchRadius::get, 30.0, "search radius"),
+                read(CLIENT.targetingMode::get, TargetingMode.CLOSEST, "targeting mode"),
+                read(CLIENT.requireLineOfSight::get, true, "line of sight setting"),
+                read(CLIENT.penetrateGlass::get, true, "penetrate glass setting"),
+                readList(CLIENT.transparentBlocks::get, new ArrayList<>(), "transparent blocks"),
+                read(CLIENT.lineOfSightFluids::get, FluidPolicy.NONE, "line of sight fluids"),
+                read(CLIENT.targetingAngle::get, 45.0, "targeting angle"),
+                read(CLIENT.smartTargeting::get, true, "smart targeting setting"),
+                read(CLIENT.healthPriorityWeight::get, 0.3, "health priority weight"),
+                read(CLIENT.distancePriorityWeight::get, 0.4, "distance priority weight"),
+                read(CLIENT.anglePriorityWeight::get, 0.3, "angle priority weight"),
+                readList(CLIENT.customScoringWeights::get, Arrays.asList("lockonmod:distance=0.1", "lockonmod:angle=1.0"), "custom scoring weights"),
+
+                read(CLIENT.enableThirdPersonEnhancements::get, true, "third person enhancements setting"),
+                read(CLIENT.thirdPersonRangeMultiplier::get, 1.2, "third person range multiplier"),
+                read(CLIENT.thirdPersonAngleMultiplier::get, 1.3, "third person angle multiplier"),
+                read(CLIENT.thirdPersonSmoothingFactor::get, 1.15, "third person smoothing factor"),
+                read(CLIENT.thirdPersonRotationSpeedMultiplier::get, 0.85, "third person rotation speed multiplier"),
+                read(CLIENT.thirdPersonIndicatorSizeMultiplier::get, 1.0, "third person indicator size multiplier"),
+                read(CLIENT.adjustForCameraOffset::get, true, "camera offset adjustment setting"),
+                read(CLIENT.enhancedThirdPersonSmoothing::get, true, "enhanced third person smoothing setting"),
+                read(CLIENT.autoDetectThirdPerson::get, true, "auto detect third person setting"),
+
+                read(CLIENT.rotationSpeed::get, 0.15, "rotation speed").floatValue(),
+                read(CLIENT.minRotationSpeed::get, 0.05, "min rotation speed").floatValue(),
+                read(CLIENT.maxRotationSpeed::get, 0.5, "max rotation speed").floatValue(),
+                read(CLIENT.smoothCameraEnabled::get, true, "smooth camera setting"),
+                read(CLIENT.cameraSmoothness::get, 0.1, "camera smoothness").floatValue(),
+                read(CLIENT.springCamera::get, true, "spring camera setting"),
+                read(CLIENT.cameraSettleTime::get, 0.3, "camera settle time").floatValue(),
+                read(CLIENT.adaptiveRotationEnabled::get, true, "adaptive rotation setting"),
+                read(CLIENT.predictiveTargeting::get, false, "predictive targeting setting"),
+                read(CLIENT.autoBreakOnObstruction::get, true, "auto break setting"),
+
+                read(CLIENT.indicatorType::get, IndicatorType.CIRCLE, "indicator type"),
+                read(CLIENT.indicatorSize::get, 1.0, "indicator size").floatValue(),
+                read(CLIENT.pulseEnabled::get, true, "pulse enabled setting"),
+                read(CLIENT.glowEnabled::get, true, "glow enabled setting"),
+                showTargetDistance,
+                showTargetHealth,
+                read(CLIENT.showTargetName::get, true, "show target name setting"),
+                read(CLIENT.showDistance::get, showTargetDistance, "show distance setting"),
+                read(CLIENT.showHealthBar::get, showTargetHealth, "show health bar setting"),
+                read(CLIENT.distanceUnit::get, DistanceUnit.BLOCKS, "distance unit"),
+
+                parseColor(read(CLIENT.indicatorColorHex::get, "#FF6600", "indicator color"), Color.ORANGE),
+                parseColor(read(CLIENT.outlineColorHex::get, "#FFFFFF", "outline color"), Color.WHITE),
+                parseColor(read(CLIENT.textColorHex::get, "#FFFFFF", "text color"), Color.WHITE),
+                read(CLIENT.dynamicHealthColorEnabled::get, true, "dynamic health color setting"),
+                read(CLIENT.dynamicDistanceColorEnabled::get, false, "dynamic distance color setting"),
+
+                read(CLIENT.canTargetPlayers::get, true, "target players setting"),
+                read(CLIENT.canTargetHostileMobs::get, true, "target hostile mobs setting"),
+                read(CLIENT.canTargetPassiveMobs::get, false, "target passive mobs setting"),
+                read(CLIENT.canTargetBosses::get, true, "target bosses setting"),
+                read(CLIENT.minTargetHealth::get, 1.0, "min target health"),
+                read(CLIENT.maxTargetHealth::get, 0.0, "max target health"), // 0 = no limit
+                readList(CLIENT.entityBlacklist::get, Arrays.asList("minecraft:villager", "minecraft:cat"), "entity blacklist"),
+                readList(CLIENT.entityWhitelist::get, new ArrayList<>(), "entity whitelist"),
+                read(CLIENT.useWhitelist::get, false, "whitelist setting"),
+
+                read(CLIENT.enableSounds::get, true, "sounds enabled setting"),
+                read(CLIENT.soundVolume::get, 1.0, "sound volume").floatValue(),
+                read(CLIENT.lockOnSound::get, true, "lock on sound setting"),
+                read(CLIENT.targetSwitchSound::get, true, "target switch sound setting"),
+                read(CLIENT.targetLostSound::get, true, "target lost sound setting"),
+
+                read(CLIENT.holdToMaintainLock::get, false, "hold to maintain lock setting"),
+                read(CLIENT.toggleMode::get, true, "toggle mode setting"),
+                read(CLIENT.cycleThroughTargets::get, true, "cycle through targets setting"),
+                read(CLIENT.reverseScrollCycling::get, false, "reverse scroll cycling setting"),
+                read(CLIENT.flickToSwitchTargets::get, false, "flick to switch targets setting"),
+                read(CLIENT.flickThreshold::get, 25.0, "flick threshold").floatValue(),
+
+                read(CLIENT.updateFrequency::get, 1, "update frequency"),
+                read(CLIENT.maxTargetsToSearch::get, 50, "max targets to search"),
+                read(CLIENT.lineOfSightRaysPerEntity::get, 3, "line of sight rays per entity"),
+                read(CLIENT.disableInCreative::get, false, "disable in creative setting"),
+                read(CLIENT.disableInSpectator::get, true, "disable in spectator setting")
+        );
     }
 
-    // Third Person Settings
-    public static boolean areThirdPersonEnhancementsEnabled() {
+    /**
+     * Read a single spec value with a safe fallback. Only warns once the spec is loaded,
+     * before that every read is expected to fail.
+     */
+    private static <T> T read(Supplier<T> value, T fallback, String name) {
         try {
-            return CLIENT.enableThirdPersonEnhancements.get();
+            T result = value.get();
+            return result != null ? result : fallback;
         } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get third person enhancements setting, using default: {}", e.getMessage());
-            return true;
+            if (CLIENT_SPEC.isLoaded())
+                LockOnMod.LOGGER.warn("Failed to get {}, using default: {}", name, e.getMessage());
+            return fallback;
         }
     }
 
-    public static double getThirdPersonRangeMultiplier() {
-        try {
-            return CLIENT.thirdPersonRangeMultiplier.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get third person range multiplier, using default: {}", e.getMessage());
-            return 1.2;
-        }
+    private static List<String> readList(Supplier<List<? extends String>> value, List<String> fallback, String name) {
+        List<? extends String> rawList = read(value, null, name);
+        return rawList != null ? new ArrayList<>(rawList) : fallback;
     }
 
-    public static double getThirdPersonAngleMultiplier() {
-        try {
-            return CLIENT.thirdPersonAngleMultiplier.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get third person angle multiplier, using default: {}", e.getMessage());
-            return 1.3;
-        }
-    }
+    // === SAFE STATIC ACCESSORS WITH FALLBACKS ===
 
-    public static double getThirdPersonSmoothingFactor() {
-        try {
-            return CLIENT.thirdPersonSmoothingFactor.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get third person smoothing factor, using default: {}", e.getMessage());
-            return 1.15;
-        }
-    }
+    // Targeting Settings
+    // Range, angle and indicator size are the configured values; third person adjustments are
+    // applied once, by callers, through ThirdPersonCompatibility's CameraContext
+    public static double getMaxLockOnDistance()         { return snapshot().maxLockOnDistance(); }
 
-    public static double getThirdPersonRotationSpeedMultiplier() {
-        try {
-            return CLIENT.thirdPersonRotationSpeedMultiplier.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get third person rotation speed multiplier, using default: {}", e.getMessage());
-            return 0.85;
-        }
-    }
+    public static double getSearchRadius()              { return snapshot().searchRadius(); }
+    public static TargetingMode getTargetingMode()      { return snapshot().targetingMode(); }
+    public static boolean requireLineOfSight()          { return snapshot().requireLineOfSight(); }
+    public static boolean penetrateGlass()              { return snapshot().penetrateGlass(); }
+    public static FluidPolicy getLineOfSightFluids()    { return snapshot().lineOfSightFluids(); }
 
-    public static double getThirdPersonIndicatorSizeMultiplier() {
-        try {
-            return CLIENT.thirdPersonIndicatorSizeMultiplier.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get third person indicator size multiplier, using default: {}", e.getMessage());
-            return 1.0;
-        }
-    }
+    public static double getTargetingAngle()            { return snapshot().targetingAngle(); }
 
-    public static boolean shouldAdjustForCameraOffset() {
-        try {
-            return CLIENT.adjustForCameraOffset.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get camera offset adjustment setting, using default: {}", e.getMessage());
-            return true;
-        }
+    /**
+     * Cosine of a targeting cone half-angle in degrees, so cone tests compare dot products
+     * instead of calling acos. Primed with the configured angle on load; a third-person
+     * adjusted angle is only recomputed when it changes.
+     */
+    public static double getConeCos(double angleDegrees) {
+        double[] cached = coneCos;
+        if (cached[0] == angleDegrees) return cached[1];
+        double cos = Math.cos(Math.toRadians(angleDegrees));
+        coneCos = new double[] { angleDegrees, cos };
+        return cos;
     }
 
-    public static boolean isEnhancedThirdPersonSmoothingEnabled() {
-        try {
-            return CLIENT.enhancedThirdPersonSmoothing.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get enhanced third person smoothing setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
+    public static boolean isSmartTargetingEnabled()     { return snapshot().smartTargeting(); }
+    public static double getHealthPriorityWeight()      { return snapshot().healthPriorityWeight(); }
+    public static double getDistancePriorityWeight()    { return snapshot().distancePriorityWeight(); }
+    public static double getAnglePriorityWeight()       { return snapshot().anglePriorityWeight(); }
 
-    public static boolean isAutoDetectThirdPersonEnabled() {
-        try {
-            return CLIENT.autoDetectThirdPerson.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get auto detect third person setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
+    // Third Person Settings
+    public static boolean areThirdPersonEnhancementsEnabled()    { return snapshot().thirdPersonEnhancements(); }
+    public static double getThirdPersonRangeMultiplier()         { return snapshot().thirdPersonRangeMultiplier(); }
+    public static double getThirdPersonAngleMultiplier()         { return snapshot().thirdPersonAngleMultiplier(); }
+    public static double getThirdPersonSmoothingFactor()         { return snapshot().thirdPersonSmoothingFactor(); }
+    public static double getThirdPersonRotationSpeedMultiplier() { return snapshot().thirdPersonRotationSpeedMultiplier(); }
+    public static double getThirdPersonIndicatorSizeMultiplier() { return snapshot().thirdPersonIndicatorSizeMultiplier(); }
+    public static boolean shouldAdjustForCameraOffset()          { return snapshot().adjustForCameraOffset(); }
+    public static boolean isEnhancedThirdPersonSmoothingEnabled() { return snapshot().enhancedThirdPersonSmoothing(); }
+    public static boolean isAutoDetectThirdPersonEnabled()       { return snapshot().autoDetectThirdPerson(); }
 
     // Camera Settings
-    public static float getRotationSpeed() {
-        try {
-            return CLIENT.rotationSpeed.get().floatValue();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get rotation speed, using default: {}", e.getMessage());
-            return 0.15f;
-        }
-    }
-
-    public static float getMinRotationSpeed() {
-        try {
-            return CLIENT.minRotationSpeed.get().floatValue();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get min rotation speed, using default: {}", e.getMessage());
-            return 0.05f;
-        }
-    }
-
-    public static float getMaxRotationSpeed() {
-        try {
-            return CLIENT.maxRotationSpeed.get().floatValue();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get max rotation speed, using default: {}", e.getMessage());
-            return 0.5f;
-        }
-    }
-
-    public static boolean isSmoothCameraEnabled() {
-        try {
-            return CLIENT.smoothCameraEnabled.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get smooth camera setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static float getCameraSmoothness() {
-        try {
-            return CLIENT.cameraSmoothness.get().floatValue();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get camera smoothness, using default: {}", e.getMessage());
-            return 0.1f;
-        }
-    }
-
-    public static boolean isAdaptiveRotationEnabled() {
-        try {
-            return CLIENT.adaptiveRotationEnabled.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get adaptive rotation setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean isPredictiveTargetingEnabled() {
-        try {
-            return CLIENT.predictiveTargeting.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get predictive targeting setting, using default: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    public static boolean isAutoBreakOnObstructionEnabled() {
-        try {
-            return CLIENT.autoBreakOnObstruction.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get auto break setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
+    public static float getRotationSpeed()               { return snapshot().rotationSpeed(); }
+    public static float getMinRotationSpeed()            { return snapshot().minRotationSpeed(); }
+    public static float getMaxRotationSpeed()            { return snapshot().maxRotationSpeed(); }
+    public static boolean isSmoothCameraEnabled()        { return snapshot().smoothCameraEnabled(); }
+    public static float getCameraSmoothness()            { return snapshot().cameraSmoothness(); }
+    public static boolean isSpringCameraEnabled()        { return snapshot().springCamera(); }
+    public static float getCameraSettleTime()            { return snapshot().cameraSettleTime(); }
+    public static boolean isAdaptiveRotationEnabled()    { return snapshot().adaptiveRotationEnabled(); }
+    public static boolean isPredictiveTargetingEnabled() { return snapshot().predictiveTargeting(); }
+    public static boolean isAutoBreakOnObstructionEnabled() { return snapshot().autoBreakOnObstruction(); }
 
     // Visual Settings
-    public static IndicatorType getIndicatorType() {
-        try {
-            return CLIENT.indicatorType.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get indicator type, using default: {}", e.getMessage());
-            return IndicatorType.CIRCLE;
-        }
-    }
-
-    public static float getIndicatorSize() {
-        try {
-            float baseSize = CLIENT.indicatorSize.get().floatValue();
-            if (ThirdPersonCompatibility.isThirdPersonActive() && CLIENT.enableThirdPersonEnhancements.get()) {
-                return ThirdPersonCompatibility.getAdjustedIndicatorSize(baseSize);
-            }
-            return baseSize;
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get indicator size, using default: {}", e.getMessage());
-            return 1.0f;
-        }
-    }
-
-    public static boolean isPulseEnabled() {
-        try {
-            return CLIENT.pulseEnabled.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get pulse enabled setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean isGlowEnabled() {
-        try {
-            return CLIENT.glowEnabled.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get glow enabled setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean showTargetDistance() {
-        try {
-            return CLIENT.showTargetDistance.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get show target distance setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
+    public static IndicatorType getIndicatorType()       { return snapshot().indicatorType(); }
 
-    public static boolean showTargetHealth() {
-        try {
-            return CLIENT.showTargetHealth.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get show target health setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
+    public static float getIndicatorSize()               { return snapshot().indicatorSize(); }
 
-    public static boolean showTargetName() {
-        try {
-            return CLIENT.showTargetName.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get show target name setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
+    public static boolean isPulseEnabled()               { return snapshot().pulseEnabled(); }
+    public static boolean isGlowEnabled()                { return snapshot().glowEnabled(); }
+    public static boolean showTargetDistance()           { return snapshot().showTargetDistance(); }
+    public static boolean showTargetHealth()             { return snapshot().showTargetHealth(); }
+    public static boolean showTargetName()               { return snapshot().showTargetName(); }
 
     // Legacy method compatibility
-    public static boolean showDistance() {
-        try {
-            return CLIENT.showDistance.get();
-        } catch (Exception e) {
-            return showTargetDistance(); // Fall back to new method
-        }
-    }
-
-    public static boolean showHealthBar() {
-        try {
-            return CLIENT.showHealthBar.get();
-        } catch (Exception e) {
-            return showTargetHealth(); // Fall back to new method
-        }
-    }
-
-    public static DistanceUnit getDistanceUnit() {
-        try {
-            return CLIENT.distanceUnit.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get distance unit, using default: {}", e.getMessage());
-            return DistanceUnit.BLOCKS;
-        }
-    }
+    public static boolean showDistance()                 { return snapshot().showDistance(); }
+    public static boolean showHealthBar()                { return snapshot().showHealthBar(); }
+    public static DistanceUnit getDistanceUnit()         { return snapshot().distanceUnit(); }
 
     // Color Settings
-    public static Color getIndicatorColor() {
-        try {
-            return parseColor(CLIENT.indicatorColorHex.get(), Color.ORANGE);
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get indicator color, using default: {}", e.getMessage());
-            return Color.ORANGE;
-        }
-    }
-
-    public static Color getOutlineColor() {
-        try {
-            return parseColor(CLIENT.outlineColorHex.get(), Color.WHITE);
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get outline color, using default: {}", e.getMessage());
-            return Color.WHITE;
-        }
-    }
-
-    public static Color getTextColor() {
-        try {
-            return parseColor(CLIENT.textColorHex.get(), Color.WHITE);
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get text color, using default: {}", e.getMessage());
-            return Color.WHITE;
-        }
-    }
-
-    public static boolean isDynamicHealthColorEnabled() {
-        try {
-            return CLIENT.dynamicHealthColorEnabled.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get dynamic health color setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean isDynamicDistanceColorEnabled() {
-        try {
-            return CLIENT.dynamicDistanceColorEnabled.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get dynamic distance color setting, using default: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    // Filter Settings - FIXED VERSIONS
-    public static boolean canTargetPlayers() {
-        try {
-            return CLIENT.canTargetPlayers.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get target players setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean canTargetHostileMobs() {
-        try {
-            return CLIENT.canTargetHostileMobs.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get target hostile mobs setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean canTargetPassiveMobs() {
-        try {
-            return CLIENT.canTargetPassiveMobs.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get target passive mobs setting, using default: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    public static boolean canTargetBosses() {
-        try {
-            return CLIENT.canTargetBosses.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get target bosses setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static double getMinTargetHealth() {
-        try {
-            return CLIENT.minTargetHealth.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get min target health, using default: {}", e.getMessage());
-            return 1.0;
-        }
-    }
-
-    public static double getMaxTargetHealth() {
-        try {
-            return CLIENT.maxTargetHealth.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get max target health, using default: {}", e.getMessage());
-            return 0.0; // 0 = no limit
-        }
-    }
-
-    // FIXED BLACKLIST/WHITELIST METHODS
-    public static List<String> getEntityBlacklist() {
-        try {
-            List<? extends String> rawList = CLIENT.entityBlacklist.get();
-            if (rawList == null) {
-                return Arrays.asList("minecraft:villager", "minecraft:cat"); // Default fallback
-            }
-            return new ArrayList<>(rawList);
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get entity blacklist, using defaults: {}", e.getMessage());
-            return Arrays.asList("minecraft:villager", "minecraft:cat");
-        }
-    }
-
-    public static List<String> getEntityWhitelist() {
-        try {
-            List<? extends String> rawList = CLIENT.entityWhitelist.get();
-            if (rawList == null) {
-                return new ArrayList<>(); // Empty whitelist by default
-            }
-            return new ArrayList<>(rawList);
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get entity whitelist, using empty list: {}", e.getMessage());
-            return new ArrayList<>();
-        }
-    }
-
-    public static boolean useWhitelist() {
-        try {
-            return CLIENT.useWhitelist.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get whitelist setting, defaulting to false: {}", e.getMessage());
-            return false;
-        }
-    }
+    public static Color getIndicatorColor()              { return snapshot().indicatorColor(); }
+    public static Color getOutlineColor()                { return snapshot().outlineColor(); }
+    public static Color getTextColor()                   { return snapshot().textColor(); }
+    public static boolean isDynamicHealthColorEnabled()  { return snapshot().dynamicHealthColor(); }
+    public static boolean isDynamicDistanceColorEnabled() { return snapshot().dynamicDistanceColor(); }
+
+    // Filter Settings
+    public static boolean canTargetPlayers()             { return snapshot().canTargetPlayers(); }
+    public static boolean canTargetHostileMobs()         { return snapshot().canTargetHostileMobs(); }
+    public static boolean canTargetPassiveMobs()         { return snapshot().canTargetPassiveMobs(); }
+    public static boolean canTargetBosses()              { return snapshot().canTargetBosses(); }
+    public static double getMinTargetHealth()            { return snapshot().minTargetHealth(); }
+    public static double getMaxTargetHealth()            { return snapshot().maxTargetHealth(); }
+
+    // Callers may mutate the returned lists, the snapshot keeps its own immutable copy
+    public static List<String> getEntityBlacklist()      { return new ArrayList<>(snapshot().entityBlacklist()); }
+    public static List<String> getEntityWhitelist()      { return new ArrayList<>(snapshot().entityWhitelist()); }
+    public static boolean useWhitelist()                 { return snapshot().useWhitelist(); }
 
     // Audio Settings
-    public static boolean areSoundsEnabled() {
-        try {
-            return CLIENT.enableSounds.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get sounds enabled setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static float getSoundVolume() {
-        try {
-            return CLIENT.soundVolume.get().floatValue();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get sound volume, using default: {}", e.getMessage());
-            return 1.0f;
-        }
-    }
-
-    public static boolean playLockOnSound() {
-        try {
-            return CLIENT.lockOnSound.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get lock on sound setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean playTargetSwitchSound() {
-        try {
-            return CLIENT.targetSwitchSound.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get target switch sound setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean playTargetLostSound() {
-        try {
-            return CLIENT.targetLostSound.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get target lost sound setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
+    public static boolean areSoundsEnabled()             { return snapshot().enableSounds(); }
+    public static float getSoundVolume()                 { return snapshot().soundVolume(); }
+    public static boolean playLockOnSound()              { return snapshot().lockOnSound(); }
+    public static boolean playTargetSwitchSound()        { return snapshot().targetSwitchSound(); }
+    public static boolean playTargetLostSound()          { return snapshot().targetLostSound(); }
 
     // Keybinding Settings
-    public static boolean holdToMaintainLock() {
-        try {
-            return CLIENT.holdToMaintainLock.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get hold to maintain lock setting, using default: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    public static boolean isToggleMode() {
-        try {
-            return CLIENT.toggleMode.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get toggle mode setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean canCycleThroughTargets() {
-        try {
-            return CLIENT.cycleThroughTargets.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get cycle through targets setting, using default: {}", e.getMessage());
-            return true;
-        }
-    }
-
-    public static boolean reverseScrollCycling() {
-        try {
-            return CLIENT.reverseScrollCycling.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get reverse scroll cycling setting, using default: {}", e.getMessage());
-            return false;
-        }
-    }
+    public static boolean holdToMaintainLock()           { return snapshot().holdToMaintainLock(); }
+    public static boolean isToggleMode()                 { return snapshot().toggleMode(); }
+    public static boolean canCycleThroughTargets()       { return snapshot().cycleThroughTargets(); }
+    public static boolean reverseScrollCycling()         { return snapshot().reverseScrollCycling(); }
+    public static boolean isFlickToSwitchEnabled()       { return snapshot().flickToSwitchTargets(); }
+    public static float getFlickThreshold()              { return snapshot().flickThreshold(); }
 
     // Performance Settings
-    public static int getUpdateFrequency() {
-        try {
-            return CLIENT.updateFrequency.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get update frequency, using default: {}", e.getMessage());
-            return 1;
-        }
-    }
+    public static int getUpdateFrequency()               { return snapshot().updateFrequency(); }
+    public static int getMaxTargetsToSearch()            { return snapshot().maxTargetsToSearch(); }
+    public static int getLineOfSightRaysPerEntity()      { return snapshot().lineOfSightRaysPerEntity(); }
+    public static boolean disableInCreative()            { return snapshot().disableInCreative(); }
+    public static boolean disableInSpectator()           { return snapshot().disableInSpectator(); }
 
-    public static int getMaxTargetsToSearch() {
-        try {
-            return CLIENT.maxTargetsToSearch.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get max targets to search, using default: {}", e.getMessage());
-            return 50;
-        }
-    }
-
-    public static boolean disableInCreative() {
-        try {
-            return CLIENT.disableInCreative.get();
-        } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get disable in creative setting, using default: {}", e.getMessage());
-            return false;
+    /**
+     * Target filter compiled from the filter settings, built lazily if the config has not loaded yet
+     */
+    public static CompiledTargetFilter getTargetFilter() {
+        LockOnConfigSnapshot current = snapshot();
+        CompiledTargetFilter filter = targetFilter;
+        if (filter == null || filter.configVersion() != current.version()) {
+            filter = CompiledTargetFilter.compile(current);
+            targetFilter = filter;
         }
+        return filter;
     }
 
-    public static boolean disableInSpectator() {
+    private static synchronized void rebuildCompiledState() {
+        boolean loaded = CLIENT_SPEC.isLoaded();
+        LockOnConfigSnapshot captured = captureSnapshot();
+        snapshot = captured;
+        snapshotFromLoadedSpec = loaded;
+        getConeCos(captured.targetingAngle());
         try {
-            return CLIENT.disableInSpectator.get();
+            targetFilter = CompiledTargetFilter.compile(captured);
         } catch (Exception e) {
-            LockOnMod.LOGGER.warn("Failed to get disable in spectator setting, using default: {}", e.getMessage());
-            return true;
+            LockOnMod.LOGGER.warn("Failed to compile target filter, will retry on first use: {}", e.getMessage());
+            targetFilter = null;
         }
     }
 
@@ -1080,6 +807,7 @@ public class LockOnConfig {
     @SubscribeEvent
     public static void onLoad(final ModConfigEvent.Loading configEvent) {
         LockOnMod.LOGGER.debug("Loaded Enhanced Target Lock Mod config file {}", configEvent.getConfig().getFileName());
+        rebuildCompiledState();
         try {
             LockOnMod.LOGGER.info("Third Person Compatibility Status: {}", ThirdPersonCompatibility.getCompatibilityStatus());
         } catch (Exception e) {
@@ -1090,6 +818,7 @@ public class LockOnConfig {
     @SubscribeEvent
     public static void onReload(final ModConfigEvent.Reloading configEvent) {
         LockOnMod.LOGGER.debug("Enhanced Target Lock Mod config reloaded");
+        rebuildCompiledState();
         try {
             LockOnMod.LOGGER.info("Third Person Compatibility Status: {}", ThirdPersonCompatibility.getCompatibilityStatus());
         } catch (Exception e) {
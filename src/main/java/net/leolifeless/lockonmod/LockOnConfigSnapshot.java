@@ -0,0 +1,112 @@
+package net.leolifeless.lockonmod;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * Immutable copy of every {@link LockOnConfig} value, rebuilt on config load/reload.
+ *
+ * Hot paths read plain final fields from the published snapshot instead of going through
+ * ForgeConfigSpec on every call. {@link #version()} increases with every rebuild so caches
+ * that depend on settings can tell when they need to be invalidated.
+ */
+public record LockOnConfigSnapshot(
+        long version,
+
+        // Targeting
+        double maxLockOnDistance,
+        double searchRadius,
+        LockOnConfig.TargetingMode targetingMode,
+        boolean requireLineOfSight,
+        boolean penetrateGlass,
+        List<String> transparentBlocks,
+        LockOnConfig.FluidPolicy lineOfSightFluids,
+        double targetingAngle,
+        boolean smartTargeting,
+        double healthPriorityWeight,
+        double distancePriorityWeight,
+        double anglePriorityWeight,
+        List<String> customScoringWeights,
+
+        // Third person
+        boolean thirdPersonEnhancements,
+        double thirdPersonRangeMultiplier,
+        double thirdPersonAngleMultiplier,
+        double thirdPersonSmoothingFactor,
+        double thirdPersonRotationSpeedMultiplier,
+        double thirdPersonIndicatorSizeMultiplier,
+        boolean adjustForCameraOffset,
+        boolean enhancedThirdPersonSmoothing,
+        boolean autoDetectThirdPerson,
+
+        // Camera
+        float rotationSpeed,
+        float minRotationSpeed,
+        float maxRotationSpeed,
+        boolean smoothCameraEnabled,
+        float cameraSmoothness,
+        boolean springCamera,
+        float cameraSettleTime,
+        boolean adaptiveRotationEnabled,
+        boolean predictiveTargeting,
+        boolean autoBreakOnObstruction,
+
+        // Visual
+        LockOnConfig.IndicatorType indicatorType,
+        float indicatorSize,
+        boolean pulseEnabled,
+        boolean glowEnabled,
+        boolean showTargetDistance,
+        boolean showTargetHealth,
+        boolean showTargetName,
+        boolean showDistance,
+        boolean showHealthBar,
+        LockOnConfig.DistanceUnit distanceUnit,
+
+        // Colors, parsed once
+        Color indicatorColor,
+        Color outlineColor,
+        Color textColor,
+        boolean dynamicHealthColor,
+        boolean dynamicDistanceColor,
+
+        // Filters
+        boolean canTargetPlayers,
+        boolean canTargetHostileMobs,
+        boolean canTargetPassiveMobs,
+        boolean canTargetBosses,
+        double minTargetHealth,
+        double maxTargetHealth,
+        List<String> entityBlacklist,
+        List<String> entityWhitelist,
+        boolean useWhitelist,
+
+        // Audio
+        boolean enableSounds,
+        float soundVolume,
+        boolean lockOnSound,
+        boolean targetSwitchSound,
+        boolean targetLostSound,
+
+        // Keybinding behavior
+        boolean holdToMaintainLock,
+        boolean toggleMode,
+        boolean cycleThroughTargets,
+        boolean reverseScrollCycling,
+        boolean flickToSwitchTargets,
+        float flickThreshold,
+
+        // Performance
+        int updateFrequency,
+        int maxTargetsToSearch,
+        int lineOfSightRaysPerEntity,
+        boolean disableInCreative,
+        boolean disableInSpectator
+) {
+    public LockOnConfigSnapshot {
+        transparentBlocks = List.copyOf(transparentBlocks);
+        customScoringWeights = List.copyOf(customScoringWeights);
+        entityBlacklist = List.copyOf(entityBlacklist);
+        entityWhitelist = List.copyOf(entityWhitelist);
+    }
+}
@@ -3,6 +3,7 @@ package net.leolifeless.lockonmod;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
 import com.mojang.math.Matrix4f;
+import net.leolifeless.lockonmod.metrics.LockOnMetrics;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.renderer.GameRenderer;
@@ -32,6 +33,7 @@ public class LockOnHudRenderer {
             return;
         }
 
+        long start = LockOnMetrics.start();
         PoseStack poseStack = event.getPoseStack();
         Font font = minecraft.font;
 
@@ -97,6 +99,8 @@ public class LockOnHudRenderer {
             font.draw(poseStack, healthText, hudX + font.width(healthLabel), currentY, colorInt);
             currentY += lineHeight;
         }
+
+        LockOnMetrics.record(LockOnMetrics.Phase.HUD, start);
     }
 
     /**
@@ -18,6 +18,8 @@ public class LockOnKeybinds {
     public static final String KEY_CYCLE_TARGET = "key." + LockOnMod.MOD_ID + ".cycle_target";
     public static final String KEY_CYCLE_TARGET_REVERSE = "key." + LockOnMod.MOD_ID + ".cycle_target_reverse";
     public static final String KEY_CLEAR_TARGET = "key." + LockOnMod.MOD_ID + ".clear_target";
+    public static final String KEY_SWITCH_TARGET_LEFT = "key." + LockOnMod.MOD_ID + ".switch_target_left";
+    public static final String KEY_SWITCH_TARGET_RIGHT = "key." + LockOnMod.MOD_ID + ".switch_target_right";
 
     // Targeting mode keybinds
     public static final String KEY_TARGET_CLOSEST = "key." + LockOnMod.MOD_ID + ".target_closest";
@@ -41,6 +43,8 @@ public class LockOnKeybinds {
     public static KeyMapping cycleTargetKey;
     public static KeyMapping cycleTargetReverseKey;
     public static KeyMapping clearTargetKey;
+    public static KeyMapping switchTargetLeftKey;
+    public static KeyMapping switchTargetRightKey;
 
     public static KeyMapping targetClosestKey;
     public static KeyMapping targetMostDamagedKey;
@@ -94,6 +98,24 @@ public class LockOnKeybinds {
                 KEY_CATEGORY_LOCKON
         );
 
+        switchTargetLeftKey = new KeyMapping(
+                KEY_SWITCH_TARGET_LEFT,
+                KeyConflictContext.IN_GAME,
+                KeyModifier.NONE,
+                InputConstants.Type.KEYSYM,
+                GLFW.GLFW_KEY_LEFT,
+                KEY_CATEGORY_LOCKON
+        );
+
+        switchTargetRightKey = new KeyMapping(
+                KEY_SWITCH_TARGET_RIGHT,
+                KeyConflictContext.IN_GAME,
+                KeyModifier.NONE,
+                InputConstants.Type.KEYSYM,
+                GLFW.GLFW_KEY_RIGHT,
+                KEY_CATEGORY_LOCKON
+        );
+
         // Targeting mode shortcuts
         targetClosestKey = new KeyMapping(
                 KEY_TARGET_CLOSEST,
@@ -186,6 +208,8 @@ public class LockOnKeybinds {
         event.register(cycleTargetKey);
         event.register(cycleTargetReverseKey);
         event.register(clearTargetKey);
+        event.register(switchTargetLeftKey);
+        event.register(switchTargetRightKey);
 
         // Register targeting mode shortcuts
         event.register(targetClosestKey);
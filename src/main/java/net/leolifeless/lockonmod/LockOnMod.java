@@ -1,6 +1,7 @@
 package net.leolifeless.lockonmod;
 
 import com.mojang.logging.LogUtils;
+import net.leolifeless.lockonmod.targeting.EntityClassification;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
@@ -73,6 +74,7 @@ public class LockOnMod {
             event.enqueueWork(() -> {
                 CustomIndicatorManager.initialize();
                 LOGGER.info("Custom Indicator Manager initialized");
+                EntityClassification.initialize();
             });
 
             LOGGER.info("Lock-On Mod client setup complete");
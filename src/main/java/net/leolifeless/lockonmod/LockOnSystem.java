@@ -1,36 +1,45 @@
 package net.leolifeless.lockonmod;
 
 import com.mojang.logging.LogUtils;
+import net.leolifeless.lockonmod.camera.AngleSpring;
+import net.leolifeless.lockonmod.camera.FastAngles;
+import net.leolifeless.lockonmod.camera.TargetMotionPredictor;
+import net.leolifeless.lockonmod.compat.CameraContext;
+import net.leolifeless.lockonmod.compat.LeawindCompat;
 import net.leolifeless.lockonmod.compat.ShoulderSurfingCompat;
 import net.leolifeless.lockonmod.compat.ThirdPersonCompatibility;
+import net.leolifeless.lockonmod.los.LineOfSightService;
+import net.leolifeless.lockonmod.metrics.LockOnMetrics;
+import net.leolifeless.lockonmod.metrics.LockOnMetrics.Counter;
+import net.leolifeless.lockonmod.metrics.LockOnMetrics.Phase;
+import net.leolifeless.lockonmod.targeting.AngularTargetIndex;
+import net.leolifeless.lockonmod.targeting.CandidateBuffer;
+import net.leolifeless.lockonmod.targeting.EntityCacheSlab;
+import net.leolifeless.lockonmod.targeting.EntitySpatialGrid;
+import net.leolifeless.lockonmod.targeting.PositionUpdateTracker;
+import net.leolifeless.lockonmod.targeting.ScoringView;
+import net.leolifeless.lockonmod.targeting.TargetRanker;
+import net.leolifeless.lockonmod.targeting.ThreatTracker;
+import net.leolifeless.lockonmod.targeting.TopKSelector;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.animal.Animal;
-import net.minecraft.world.entity.boss.wither.WitherBoss;
-import net.minecraft.world.entity.boss.enderdragon.EnderDragon;
-import net.minecraft.world.entity.monster.Monster;
-import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.level.ClipContext;
-import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.BlockHitResult;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.client.event.RenderLevelStageEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import org.slf4j.Logger;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Mod.EventBusSubscriber(modid = LockOnMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class LockOnSystem {
@@ -47,30 +56,65 @@ public class LockOnSystem {
     private static LockOnConfig.TargetingMode runtimeTargetingMode = null;
 
     // === CACHES ===
-    private static final Map<Entity, Long>    entityValidationCache = new HashMap<>();
-    private static final Map<Entity, Boolean> lineOfSightCache      = new HashMap<>();
-    private static final Map<Entity, Vec3>    entityPositionCache   = new HashMap<>();
+    // Keyed by entity id, so switching targets keeps warm entries and no entity is kept alive
+    private static final EntityCacheSlab entityCache = new EntityCacheSlab();
     private static final long CACHE_VALIDATION_MS = 100;
 
     // === TIMING ===
     private static long lastTargetingUpdate = 0;
     private static long lastCacheCleanup    = 0;
-    private static long lastThirdPersonCheck = 0;
     private static final int TARGETING_UPDATE_INTERVAL = 3;
 
-    // === CAMERA STATE ===
-    private static float prevYaw   = 0f;
-    private static float prevPitch = 0f;
+    // === FRAME TIMING ===
+    private static final float MAX_FRAME_SECONDS = 0.25f; // a longer hitch does not snap the camera
+    private static long lastFrameNanos = 0L;
+    private static final AngleSpring cameraSpring = new AngleSpring();
+
+    // Leawind overwrites its camera rotation during the frame, so ours is written after that
+    private static boolean leawindRotationPending = false;
+    private static float leawindYaw, leawindPitch;
 
     // === THIRD PERSON STATE ===
-    private static Vec3    lastCameraOffset    = Vec3.ZERO;
     private static boolean lastThirdPersonState = false;
 
     // === SYNC PROTECTION ===
-    private static int  lagTimeout       = 0;
-    private static final int MAX_LAG_TIMEOUT = 100;
     private static int  syncCheckCounter = 0;
-    private static boolean wasNetworkLagging = false;
+
+    // === SEARCH SCRATCH ===
+    private static final List<LivingEntity> searchScratch = new ArrayList<>();
+    private static final CandidateBuffer    candidates    = new CandidateBuffer();
+    private static final TopKSelector       topK          = new TopKSelector();
+    private static final TargetRanker       ranker        = new TargetRanker();
+
+    // === DEFERRED LOCK ===
+    // A lock press whose line-of-sight checks are still on the worker is retried next tick
+    private static final int MAX_LOCK_DEFER_TICKS = 4;
+    private static boolean lockPending = false;
+    private static int     lockDeferTicks = 0;
+    private static int     pendingSightChecks = 0;
+
+    // === BACKGROUND RANKING ===
+    private static final int  RANK_SLICE = 32;          // entities examined per tick
+    private static final long RANK_MAX_AGE_TICKS = 10;  // older rankings are not used for a lock press
+    private static final List<LivingEntity> rankSweep = new ArrayList<>();
+    private static int rankSweepPos = 0;
+    private static CandidateBuffer rankPending = new CandidateBuffer();
+    private static CandidateBuffer ranked      = new CandidateBuffer();
+    private static long rankedAt = -1;
+    private static LockOnConfig.TargetingMode rankedMode = null;
+
+    // === MOTION PREDICTION ===
+    private static final TargetMotionPredictor targetPredictor = new TargetMotionPredictor();
+
+    // === DIRECTIONAL SWITCHING ===
+    private static final AngularTargetIndex angularIndex = new AngularTargetIndex();
+    private static final float FLICK_DECAY = 0.6f;       // per tick, so slow drift never adds up to a flick
+    private static final int   FLICK_COOLDOWN_TICKS = 8;
+    private static float   flickAccumulator = 0f;
+    private static float   flickInput = 0f;          // player yaw input since the last tick
+    private static float   lastObservedYaw = 0f;
+    private static boolean hasObservedYaw = false;
+    private static int     flickCooldown = 0;
 
     // =========================================================
     //  PUBLIC ACCESSORS
@@ -110,8 +154,23 @@ public class LockOnSystem {
         LocalPlayer player = mc.player;
         if (player == null || mc.level == null) return;
 
+        long start = LockOnMetrics.start();
+        try {
+            tick(mc, player);
+        } finally {
+            LockOnMetrics.record(Phase.CLIENT_TICK, start);
+        }
+    }
+
+    private static void tick(Minecraft mc, LocalPlayer player) {
         long currentTick = mc.level.getGameTime();
         long currentTime = System.currentTimeMillis();
+        CameraContext camera = ThirdPersonCompatibility.refreshContext();
+
+        EntitySpatialGrid.tick(mc.level);
+        ThreatTracker.tick(player, mc.level, currentTick);
+        PositionUpdateTracker.tick(mc.level, currentTick);
+        LineOfSightService.poll(currentTick);
 
         // Sync check every 3 seconds
         syncCheckCounter++;
@@ -122,32 +181,98 @@ public class LockOnSystem {
         }
 
         // Third person state change detection
-        if (currentTime - lastThirdPersonCheck > 500) {
-            boolean current = ThirdPersonCompatibility.isThirdPersonActive();
-            if (current != lastThirdPersonState) {
-                lastThirdPersonState = current;
-                if (targetEntity != null && !isValidTarget(targetEntity, player))
-                    clearTargetSilently();
-            }
-            if (current) lastCameraOffset = ThirdPersonCompatibility.getThirdPersonCameraOffset();
-            lastThirdPersonCheck = currentTime;
+        boolean thirdPerson = camera.isThirdPerson();
+        if (thirdPerson != lastThirdPersonState) {
+            lastThirdPersonState = thirdPerson;
+            if (targetEntity != null && !isValidTarget(targetEntity, player))
+                clearTargetSilently();
         }
 
         if (shouldDisableForGameMode(player)) { clearTarget(); return; }
 
+        updateBackgroundRanking(player, currentTick);
+        observePositionUpdates();
         handleInput(player);
+        if (lockPending && targetEntity == null) findAndLockTarget(player);
+        if (targetEntity != null) detectFlick(player);
 
+        // Validation only, the camera itself is driven per frame from onRenderTick
         if (currentTick - lastTargetingUpdate >= TARGETING_UPDATE_INTERVAL) {
             updateTargetingWithSync(player, currentTick);
             lastTargetingUpdate = currentTick;
-        } else {
-            updateCameraRotation(player);
+        }
+        if (targetEntity != null && !targetEntity.isAlive()) {
+            onTargetLost();
+            clearTarget();
+        } else if (targetEntity != null && LockOnConfig.isPredictiveTargetingEnabled()) {
+            targetPredictor.observe(targetEntity, currentTick);
         }
 
         if (currentTime - lastCacheCleanup > 5000) {
             cleanCaches();
             lastCacheCleanup = currentTime;
         }
+
+        long sightStart = LockOnMetrics.start();
+        LineOfSightService.flush(mc.level);
+        LockOnMetrics.record(Phase.LINE_OF_SIGHT, sightStart);
+    }
+
+    // =========================================================
+    //  LEVEL CHANGES
+    // =========================================================
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) resetLevelState();
+    }
+
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        resetLevelState();
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        resetLevelState();
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(ClientPlayerNetworkEvent.Clone event) {
+        // Respawning in the same dimension keeps the level, and its loaded entities never join again
+        if (event.getOldPlayer().level != event.getNewPlayer().level) resetLevelState();
+        else resetPlayerState();
+    }
+
+    /**
+     * Drops every reference into the current client level, so nothing from an old world or
+     * dimension survives a level change until the next sync check or cache sweep.
+     */
+    private static void resetLevelState() {
+        resetPlayerState();
+        entityCache.clear();
+        EntitySpatialGrid.clear();
+        ThreatTracker.clear();
+        PositionUpdateTracker.clear();
+
+        // Game time restarts with the new level
+        lastTargetingUpdate = 0;
+        syncCheckCounter = 0;
+    }
+
+    /**
+     * Drops what belongs to the local player entity: the lock, the candidates ranked and the
+     * sight lines traced from it, and the camera's motion state. Level-wide tracking is kept.
+     */
+    private static void resetPlayerState() {
+        clearTargetSilently();
+        potentialTargets = new ArrayList<>();
+        candidates.reset();
+        searchScratch.clear();
+        resetBackgroundRanking();
+        LineOfSightService.clear();
+        targetPredictor.reset();
+        cameraSpring.reset();
     }
 
     // =========================================================
@@ -156,6 +281,14 @@ public class LockOnSystem {
 
     @SubscribeEvent
     public static void onRenderLevel(RenderLevelStageEvent event) {
+        if (event.getStage() == RenderLevelStageEvent.Stage.AFTER_PARTICLES) {
+            // Runs after Leawind's per-frame overwrite of relativeRotation, so our values stick
+            if (leawindRotationPending) {
+                leawindRotationPending = false;
+                LeawindCompat.setCameraRotation(leawindYaw, leawindPitch);
+            }
+            return;
+        }
         if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_TRANSLUCENT_BLOCKS) return;
         if (targetEntity == null || !indicatorVisible) return;
 
@@ -163,22 +296,21 @@ public class LockOnSystem {
         LocalPlayer player = mc.player;
         if (player == null) return;
 
+        CameraContext camera = ThirdPersonCompatibility.context();
+        // The renderer applies the third person indicator size itself
         float indicatorSize = LockOnConfig.getIndicatorSize();
-        if (ThirdPersonCompatibility.isThirdPersonActive())
-            indicatorSize = ThirdPersonCompatibility.getAdjustedIndicatorSize(indicatorSize);
-
-        Vec3 targetPos = targetEntity.getEyePosition();
-        if (ThirdPersonCompatibility.isThirdPersonActive())
-            targetPos = ThirdPersonCompatibility.getAdjustedTargetPosition(targetEntity, targetPos);
+        Vec3 targetPos = camera.adjustTargetPosition(targetEntity.getEyePosition());
 
+        long start = LockOnMetrics.start();
         LockOnRenderer.renderLockOnIndicator(
                 event.getPoseStack(),
                 targetEntity,
                 targetPos,
                 indicatorSize,
                 LockOnConfig.getIndicatorType(),
-                ThirdPersonCompatibility.isThirdPersonActive()
+                camera.isThirdPerson()
         );
+        LockOnMetrics.record(Phase.WORLD_INDICATOR, start);
     }
 
     // =========================================================
@@ -191,6 +323,8 @@ public class LockOnSystem {
         boolean cycleKeyClicked        = LockOnKeybinds.cycleTargetKey.consumeClick();
         boolean reverseCycleKeyClicked = LockOnKeybinds.cycleTargetReverseKey.consumeClick();
         boolean clearKeyClicked        = LockOnKeybinds.clearTargetKey.consumeClick();
+        boolean switchLeftClicked      = LockOnKeybinds.switchTargetLeftKey.consumeClick();
+        boolean switchRightClicked     = LockOnKeybinds.switchTargetRightKey.consumeClick();
 
         if (LockOnConfig.isToggleMode()) {
             if (lockKeyClicked) {
@@ -208,6 +342,10 @@ public class LockOnSystem {
             cycleTarget(player, false);
         if (reverseCycleKeyClicked && LockOnConfig.canCycleThroughTargets())
             cycleTarget(player, true);
+        if (switchLeftClicked)
+            switchTargetDirectional(player, -1);
+        if (switchRightClicked)
+            switchTargetDirectional(player, 1);
         if (clearKeyClicked)
             clearTarget();
 
@@ -222,252 +360,479 @@ public class LockOnSystem {
     // =========================================================
 
     private static void findAndLockTarget(LocalPlayer player) {
-        List<Entity> targets = findValidTargets(player);
+        if (lockFromRanking(player)) return;
+
+        gatherCandidates(player);
 
-        if (targets.isEmpty()) {
+        if (pendingSightChecks > 0 && lockDeferTicks < MAX_LOCK_DEFER_TICKS) {
+            lockPending = true;
+            lockDeferTicks++;
+            candidates.reset();
+            return;
+        }
+        lockPending = false;
+        lockDeferTicks = 0;
+
+        if (candidates.isEmpty()) {
             showMessage(player, "No targets found");
             playSound(player, "target_lost");
             return;
         }
 
-        if (ThirdPersonCompatibility.isThirdPersonActive())
-            targets = adjustTargetsForThirdPerson(targets, player);
+        lockRanked(player, candidates, 0);
+        candidates.reset();
+    }
 
-        Entity newTarget = selectBestTarget(targets, player);
-        if (newTarget != null) {
-            setTarget(newTarget);
-            potentialTargets = targets;
-            currentTargetIndex = targets.indexOf(newTarget);
-            showMessage(player, "Locked: " + newTarget.getDisplayName().getString());
-            playSound(player, "lock_on");
+    /**
+     * Locks the head of the background ranking if it is recent and was ranked for the
+     * current mode. Entries that stopped being valid since they were ranked are skipped.
+     */
+    private static boolean lockFromRanking(LocalPlayer player) {
+        if (rankedAt < 0 || ranked.isEmpty() || rankedMode != activeTargetingMode()) return false;
+        long age = player.level.getGameTime() - rankedAt;
+        if (age < 0 || age > RANK_MAX_AGE_TICKS) return false;
+
+        for (int i = 0, n = ranked.size(); i < n; i++) {
+            LivingEntity entity = ranked.entity(i);
+            if (entity.isRemoved() || !isValidTargetCached(entity, player)) continue;
+            lockRanked(player, ranked, i);
+            return true;
         }
+        return false;
     }
 
-    private static List<Entity> findValidTargets(LocalPlayer player) {
-        double baseRange = LockOnConfig.getMaxLockOnDistance();
-        double range = ThirdPersonCompatibility.isThirdPersonActive()
-                ? ThirdPersonCompatibility.getAdjustedTargetingRange(baseRange) : baseRange;
-        double searchRadius = Math.min(range * 1.2, LockOnConfig.getSearchRadius());
+    private static void lockRanked(LocalPlayer player, CandidateBuffer buf, int index) {
+        lockPending = false;
+        lockDeferTicks = 0;
 
-        AABB searchBox = player.getBoundingBox().inflate(searchRadius);
-        return player.level.getEntities(player, searchBox).stream()
-                .filter(e -> e instanceof LivingEntity)
-                .filter(e -> e != player)
-                .filter(e -> e.distanceTo(player) <= range)
-                .filter(e -> isValidTargetCached(e, player))
-                .filter(e -> hasLineOfSightCached(player, e))
-                .filter(e -> isWithinTargetingAngle(player, e))
-                .limit(LockOnConfig.getMaxTargetsToSearch())
-                .collect(Collectors.toList());
+        Entity newTarget = buf.entity(index);
+        setTarget(newTarget);
+        potentialTargets = buf.toEntityList();
+        currentTargetIndex = index;
+        if (buf != ranked) angularIndex.rebuild(buf, player.getX(), player.getZ(), player.getYRot());
+        showMessage(player, "Locked: " + newTarget.getDisplayName().getString());
+        playSound(player, "lock_on");
     }
 
-    private static boolean isValidTargetCached(Entity entity, LocalPlayer player) {
-        long now = System.currentTimeMillis();
-        Long last = entityValidationCache.get(entity);
-        if (last == null || now - last > CACHE_VALIDATION_MS) {
-            boolean valid = isValidTarget(entity, player);
-            entityValidationCache.put(entity, now);
-            return valid;
-        }
-        return true;
+    private static List<Entity> findValidTargets(LocalPlayer player) {
+        gatherCandidates(player);
+        List<Entity> targets = candidates.toEntityList();
+        candidates.reset();
+        return targets;
     }
 
-    private static boolean isValidTarget(Entity entity, LocalPlayer player) {
-        if (!(entity instanceof LivingEntity living)) return false;
-        if (entity == player || !entity.isAlive()) return false;
+    /**
+     * Synchronous search: fills {@link #candidates} with every target in range and ranks it.
+     */
+    private static void gatherCandidates(LocalPlayer player) {
+        CameraContext camera = ThirdPersonCompatibility.context();
+        candidates.reset();
+        double rangeSq = targetingRangeSq(camera);
+
+        searchScratch.clear();
+        collectInSearchBox(player, rangeSq, searchScratch);
+        long start = LockOnMetrics.start();
+        for (int i = 0, n = searchScratch.size(); i < n; i++)
+            addIfInRange(player, searchScratch.get(i), rangeSq, candidates);
+        LockOnMetrics.record(Phase.FILTERING, start);
+        LockOnMetrics.count(Counter.CANDIDATES_EXAMINED, searchScratch.size());
+        searchScratch.clear();
+
+        rankCandidates(player, camera, candidates);
+    }
 
-        float health = living.getHealth();
-        if (health < LockOnConfig.getMinTargetHealth()) return false;
-        if (LockOnConfig.getMaxTargetHealth() > 0 && health > LockOnConfig.getMaxTargetHealth()) return false;
+    // =========================================================
+    //  BACKGROUND RANKING
+    // =========================================================
 
-        if (entity instanceof Player    && !LockOnConfig.canTargetPlayers())     return false;
-        if (entity instanceof Monster   && !LockOnConfig.canTargetHostileMobs()) return false;
-        if (entity instanceof Animal    && !LockOnConfig.canTargetPassiveMobs()) return false;
-        if ((entity instanceof WitherBoss || entity instanceof EnderDragon)
-                && !LockOnConfig.canTargetBosses())      return false;
+    /**
+     * Keeps {@link #ranked} up to date without a full search in any single tick. Each tick
+     * examines at most {@link #RANK_SLICE} entities of the current sweep. When the sweep is
+     * done its candidates are ranked, published, and the next sweep starts, so a lock press
+     * only has to read the head of a list that is a few ticks old.
+     */
+    private static void updateBackgroundRanking(LocalPlayer player, long currentTick) {
+        CameraContext camera = ThirdPersonCompatibility.context();
+        double rangeSq = targetingRangeSq(camera);
+        if (rankSweepPos >= rankSweep.size()) {
+            rankSweep.clear();
+            rankSweepPos = 0;
+            rankPending.reset();
+            collectInSearchBox(player, rangeSq, rankSweep);
+        }
 
-        String id = EntityType.getKey(entity.getType()).toString();
-        if (LockOnConfig.useWhitelist())
-            return LockOnConfig.getEntityWhitelist().contains(id);
-        else
-            return !LockOnConfig.getEntityBlacklist().contains(id);
+        int end = Math.min(rankSweep.size(), rankSweepPos + RANK_SLICE);
+        long start = LockOnMetrics.start();
+        for (int i = rankSweepPos; i < end; i++) {
+            LivingEntity entity = rankSweep.get(i);
+            if (!entity.isRemoved()) addIfInRange(player, entity, rangeSq, rankPending);
+        }
+        LockOnMetrics.record(Phase.FILTERING, start);
+        LockOnMetrics.count(Counter.CANDIDATES_EXAMINED, end - rankSweepPos);
+        rankSweepPos = end;
+        if (rankSweepPos < rankSweep.size()) return;
+
+        rankCandidates(player, camera, rankPending);
+        CandidateBuffer published = rankPending;
+        rankPending = ranked;
+        ranked = published;
+        rankPending.reset();
+        rankSweep.clear();
+        rankedAt = currentTick;
+        rankedMode = activeTargetingMode();
+        angularIndex.rebuild(ranked, player.getX(), player.getZ(), player.getYRot());
     }
 
-    private static boolean hasLineOfSightCached(LocalPlayer player, Entity target) {
-        if (!LockOnConfig.requireLineOfSight()) return true;
+    private static void resetBackgroundRanking() {
+        rankSweep.clear();
+        rankSweepPos = 0;
+        rankPending.reset();
+        ranked.reset();
+        rankedAt = -1;
+        rankedMode = null;
+        angularIndex.clear();
+    }
 
-        Boolean cached = lineOfSightCache.get(target);
-        Vec3 lastPos = entityPositionCache.get(target);
-        Vec3 currentPos = target.position();
+    // =========================================================
+    //  CANDIDATE PIPELINE
+    // =========================================================
 
-        if (cached != null && lastPos != null && lastPos.distanceTo(currentPos) < 0.5)
-            return cached;
+    private static double targetingRangeSq(CameraContext camera) {
+        double range = camera.adjustRange(LockOnConfig.getMaxLockOnDistance());
+        return range * range;
+    }
 
-        boolean hasLOS = hasLineOfSight(player, target);
-        lineOfSightCache.put(target, hasLOS);
-        entityPositionCache.put(target, currentPos);
-        return hasLOS;
+    private static void collectInSearchBox(LocalPlayer player, double rangeSq, List<LivingEntity> out) {
+        double range = Math.sqrt(rangeSq);
+        double searchRadius = Math.min(range * 1.2, LockOnConfig.getSearchRadius());
+        AABB searchBox = player.getBoundingBox().inflate(searchRadius);
+        long start = LockOnMetrics.start();
+        EntitySpatialGrid.collect(player.level, searchBox, player, out);
+        LockOnMetrics.record(Phase.ENTITY_QUERY, start);
     }
 
-    private static boolean hasLineOfSight(LocalPlayer player, Entity target) {
-        if (!LockOnConfig.requireLineOfSight()) return true;
+    private static void addIfInRange(LocalPlayer player, LivingEntity entity, double rangeSq, CandidateBuffer buf) {
+        double dx = entity.getX() - player.getX(), dy = entity.getY() - player.getY(), dz = entity.getZ() - player.getZ();
+        double distSq = dx * dx + dy * dy + dz * dz;
+        if (distSq > rangeSq) return;
+        if (!isValidTargetCached(entity, player)) return;
+        buf.add(entity, distSq);
+    }
 
-        Vec3 start = player.getEyePosition();
-        Vec3 end = target.getEyePosition();
+    /**
+     * Narrows {@code buf} to the best {@code maxTargetsToSearch} targets inside the targeting
+     * cone and in line of sight, then sorts it best first for the active targeting mode.
+     *
+     * Candidates are ordered by a cheap distance and angle rank before the limit is applied,
+     * so iteration order never decides which targets survive, and line of sight is only
+     * checked for the ranked survivors. Targets whose check is still pending are left out
+     * and counted in {@link #pendingSightChecks}.
+     */
+    private static void rankCandidates(LocalPlayer player, CameraContext camera, CandidateBuffer buf) {
+        double rangeSq = targetingRangeSq(camera);
+
+        // Targeting cone, compared as dot >= |v| * cos(maxAngle) so no acos per entity
+        double maxAngle = camera.adjustAngle(LockOnConfig.getTargetingAngle());
+        double cosMax = LockOnConfig.getConeCos(maxAngle);
 
-        if (ThirdPersonCompatibility.isThirdPersonActive()) {
-            Vec3 offset = ThirdPersonCompatibility.getThirdPersonCameraOffset();
-            start = start.add(offset.scale(0.2));
+        Vec3 look = player.getLookAngle();
+        Vec3 offset = camera.cameraOffset();
+        double ex = player.getX() + offset.x * 0.5, ey = player.getEyeY() + offset.y * 0.5, ez = player.getZ() + offset.z * 0.5;
+
+        long start = LockOnMetrics.start();
+        int kept = 0;
+        for (int i = 0, n = buf.size(); i < n; i++) {
+            double dx = buf.x(i) - ex, dy = buf.eyeY(i) - ey, dz = buf.z(i) - ez;
+            double lenSq = dx * dx + dy * dy + dz * dz;
+            double dot = look.x * dx + look.y * dy + look.z * dz;
+            boolean inCone = lenSq == 0.0
+                    || (cosMax >= 0 ? dot >= 0 && dot * dot >= cosMax * cosMax * lenSq
+                                    : dot >= 0 || dot * dot <= cosMax * cosMax * lenSq);
+            if (!inCone) continue;
+
+            // Cheap rank: normalised distance plus angular offset, both roughly 0..1
+            double cos = lenSq == 0.0 ? 1.0 : dot / Math.sqrt(lenSq);
+            buf.move(i, kept);
+            buf.setScore(kept, buf.distanceSq(kept) / rangeSq + (1.0 - cos) * 0.5);
+            kept++;
         }
+        buf.truncate(kept);
+        LockOnMetrics.record(Phase.FILTERING, start);
+
+        // Rank first, then check sight only for the best until maxTargetsToSearch visible ones are found
+        start = LockOnMetrics.start();
+        Vec3 sightStart = lineOfSightStart(player, camera);
+        pendingSightChecks = 0;
+        topK.selectVisible(buf, LockOnConfig.getMaxTargetsToSearch(), i -> {
+            int sight = lineOfSightState(player, buf.entity(i), sightStart);
+            if (sight == LineOfSightService.PENDING) {
+                pendingSightChecks++;
+                return TopKSelector.PENDING;
+            }
+            if (sight != LineOfSightService.VISIBLE) return TopKSelector.HIDDEN;
+            if (LockOnConfig.requireLineOfSight())
+                buf.setVisibility(i, LineOfSightService.visibility(buf.id(i)));
+            return TopKSelector.VISIBLE;
+        });
+        LockOnMetrics.record(Phase.LINE_OF_SIGHT, start);
+
+        start = LockOnMetrics.start();
+        if (camera.isThirdPerson()) retainInFrontOfThirdPersonCamera(player, camera.cameraOffset(), buf);
+
+        scoreForMode(player, buf);
+        buf.sortByScore();
+        LockOnMetrics.record(Phase.SCORING, start);
+    }
 
-        BlockHitResult result = player.level.clip(new ClipContext(
-                start, end, ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, player));
+    private static boolean isValidTargetCached(Entity entity, LocalPlayer player) {
+        long now = System.currentTimeMillis();
+        int cached = entityCache.getValidity(entity.getId(), now, CACHE_VALIDATION_MS);
+        if (cached >= 0) return cached == 1 && entity.isAlive();
 
-        if (result.getType() == HitResult.Type.BLOCK) {
-            BlockState state = player.level.getBlockState(result.getBlockPos());
-            if (LockOnConfig.penetrateGlass() &&
-                    (state.is(Blocks.GLASS) || state.is(Blocks.GLASS_PANE)
-                            || state.getBlock().toString().contains("glass")))
-                return true;
-            return false;
-        }
-        return true;
+        boolean valid = isValidTarget(entity, player);
+        entityCache.putValidity(entity.getId(), valid, now);
+        return valid;
     }
 
-    private static boolean isWithinTargetingAngle(LocalPlayer player, Entity target) {
-        double maxAngle = LockOnConfig.getTargetingAngle();
-        if (ThirdPersonCompatibility.isThirdPersonActive())
-            maxAngle = ThirdPersonCompatibility.getAdjustedTargetingAngle(maxAngle);
+    private static boolean isValidTarget(Entity entity, LocalPlayer player) {
+        if (!(entity instanceof LivingEntity living)) return false;
+        if (entity == player || !entity.isAlive()) return false;
+        return LockOnConfig.getTargetFilter().test(living);
+    }
 
-        Vec3 playerPos = player.getEyePosition();
-        Vec3 targetPos = target.getEyePosition();
-        Vec3 look = player.getLookAngle();
+    /**
+     * Obstruction check for the current target. A result that is still being computed, or one
+     * traced before either of you moved, keeps the lock; only a current obstruction breaks it.
+     */
+    private static boolean hasLineOfSightCached(LocalPlayer player, Entity target) {
+        int sight = lineOfSightState(player, target, lineOfSightStart(player, ThirdPersonCompatibility.context()));
+        return sight != LineOfSightService.HIDDEN || LineOfSightService.isStale(target.getId());
+    }
 
-        if (ThirdPersonCompatibility.isThirdPersonActive()) {
-            Vec3 offset = ThirdPersonCompatibility.getThirdPersonCameraOffset();
-            playerPos = playerPos.add(offset.scale(0.5));
-        }
+    private static int lineOfSightState(LocalPlayer player, Entity target, Vec3 start) {
+        if (!LockOnConfig.requireLineOfSight()) return LineOfSightService.VISIBLE;
+        return LineOfSightService.query(player, target, start);
+    }
 
-        Vec3 toTarget = targetPos.subtract(playerPos).normalize();
-        double angle = Math.acos(Math.max(-1.0, Math.min(1.0, look.dot(toTarget)))) * 180.0 / Math.PI;
-        return angle <= maxAngle;
+    private static Vec3 lineOfSightStart(LocalPlayer player, CameraContext camera) {
+        return camera.towardCamera(player.getEyePosition(), 0.2);
     }
 
-    private static Entity selectBestTarget(List<Entity> targets, LocalPlayer player) {
-        if (targets.isEmpty()) return null;
-        LockOnConfig.TargetingMode mode = runtimeTargetingMode != null
-                ? runtimeTargetingMode : LockOnConfig.getTargetingMode();
+    private static LockOnConfig.TargetingMode activeTargetingMode() {
+        return runtimeTargetingMode != null ? runtimeTargetingMode : LockOnConfig.getTargetingMode();
+    }
 
-        switch (mode) {
-            case CLOSEST: return targets.stream()
-                    .min(Comparator.comparing(e -> e.distanceTo(player))).orElse(null);
-            case MOST_DAMAGED: return targets.stream()
-                    .filter(e -> e instanceof LivingEntity)
-                    .min(Comparator.comparing(e -> ((LivingEntity) e).getHealth())).orElse(null);
-            case CROSSHAIR_CENTERED: return targets.stream()
-                    .min(Comparator.comparing(e -> crosshairDistance(player, e))).orElse(null);
-            case THREAT_LEVEL: return targets.stream()
-                    .max(Comparator.comparing(e -> threatLevel(e))).orElse(null);
-            case SMART: return targets.stream()
-                    .min(Comparator.comparing(e -> smartScore(player, e))).orElse(null);
-            default: return targets.get(0);
-        }
+    /**
+     * Replaces every score in {@code buf} with the active mode's score. Lower is better.
+     */
+    private static void scoreForMode(LocalPlayer player, CandidateBuffer buf) {
+        ranker.rank(buf, ScoringView.of(player), activeTargetingMode(), LockOnConfig.snapshot());
     }
 
-    private static List<Entity> adjustTargetsForThirdPerson(List<Entity> targets, LocalPlayer player) {
-        Vec3 offset = ThirdPersonCompatibility.getThirdPersonCameraOffset();
-        return targets.stream()
-                .filter(e -> {
-                    Vec3 adjustedCam = player.position().add(offset);
-                    Vec3 toEntity = e.position().subtract(adjustedCam);
-                    return toEntity.dot(player.getLookAngle()) > -0.5;
-                })
-                .collect(Collectors.toList());
+    private static void retainInFrontOfThirdPersonCamera(LocalPlayer player, Vec3 offset, CandidateBuffer buf) {
+        Vec3 look = player.getLookAngle();
+        double cx = player.getX() + offset.x, cy = player.getY() + offset.y, cz = player.getZ() + offset.z;
+
+        int kept = 0;
+        for (int i = 0, n = buf.size(); i < n; i++) {
+            double dot = (buf.x(i) - cx) * look.x
+                    + (buf.y(i) - cy) * look.y
+                    + (buf.z(i) - cz) * look.z;
+            if (dot > -0.5) buf.move(i, kept++);
+        }
+        buf.truncate(kept);
     }
 
+    /**
+     * Steps through {@link #potentialTargets}, skipping entries that are no longer valid. Only
+     * the entries actually stepped over are checked, the list is not rebuilt on every press.
+     */
     private static void cycleTarget(LocalPlayer player, boolean reverse) {
         if (potentialTargets.isEmpty()) { findAndLockTarget(player); return; }
 
-        potentialTargets = potentialTargets.stream()
-                .filter(e -> e.isAlive() && isValidTargetCached(e, player))
-                .collect(Collectors.toList());
-
-        if (potentialTargets.isEmpty()) { clearTarget(); return; }
-
         int dir = reverse ? -1 : 1;
         if (LockOnConfig.reverseScrollCycling()) dir *= -1;
-        currentTargetIndex = (currentTargetIndex + dir + potentialTargets.size()) % potentialTargets.size();
 
-        Entity newTarget = potentialTargets.get(currentTargetIndex);
-        setTarget(newTarget);
-        showMessage(player, "Target: " + newTarget.getDisplayName().getString());
+        int n = potentialTargets.size();
+        for (int step = 1; step <= n; step++) {
+            int index = Math.floorMod(currentTargetIndex + dir * step, n);
+            Entity candidate = potentialTargets.get(index);
+            if (!candidate.isAlive() || !isValidTargetCached(candidate, player)) continue;
+
+            currentTargetIndex = index;
+            setTarget(candidate);
+            showMessage(player, "Target: " + candidate.getDisplayName().getString());
+            playSound(player, "target_switch");
+            return;
+        }
+        clearTarget();
+    }
+
+    /**
+     * Switches to the nearest candidate to the left ({@code direction < 0}) or right of the
+     * current target, by angle from the view direction.
+     */
+    private static void switchTargetDirectional(LocalPlayer player, int direction) {
+        if (targetEntity == null) { findAndLockTarget(player); return; }
+
+        // The index was built at the last ranking; both the view and the candidates have moved since
+        angularIndex.refresh(player.getX(), player.getZ(), player.getYRot());
+        Entity next = angularIndex.neighbour(targetEntity, direction);
+        if (next == null || !isValidTargetCached(next, player)) return;
+
+        setTarget(next);
+        int index = potentialTargets.indexOf(next);
+        if (index >= 0) currentTargetIndex = index;
+        showMessage(player, "Target: " + next.getDisplayName().getString());
         playSound(player, "target_switch");
     }
 
+    /**
+     * Treats a quick turn of the view while locked (mouse or controller stick) as a request to
+     * switch targets in that direction. Our own camera writes are excluded, so only the
+     * player's input is accumulated.
+     */
+    private static void detectFlick(LocalPlayer player) {
+        float delta = flickInput;
+        flickInput = 0f;
+
+        if (!LockOnConfig.isFlickToSwitchEnabled()) return;
+        if (flickCooldown > 0) { flickCooldown--; flickAccumulator = 0f; return; }
+
+        flickAccumulator = flickAccumulator * FLICK_DECAY + delta;
+        if (Math.abs(flickAccumulator) < LockOnConfig.getFlickThreshold()) return;
+
+        int direction = flickAccumulator > 0 ? 1 : -1;
+        flickAccumulator = 0f;
+        flickCooldown = FLICK_COOLDOWN_TICKS;
+        switchTargetDirectional(player, direction);
+    }
+
     // =========================================================
     //  CAMERA ROTATION
     // =========================================================
 
-    private static void updateCameraRotation(LocalPlayer player) {
-        if (targetEntity == null || !targetEntity.isAlive()) {
-            if (targetEntity != null) { onTargetLost(); clearTarget(); }
-            return;
-        }
+    @SubscribeEvent
+    public static void onRenderTick(TickEvent.RenderTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) return;
 
-        if (!LockOnConfig.isSmoothCameraEnabled()) return;
+        long now = System.nanoTime();
+        float frameSeconds = lastFrameNanos == 0L ? 0f
+                : Math.min(MAX_FRAME_SECONDS, (now - lastFrameNanos) / 1.0e9f);
+        lastFrameNanos = now;
 
-        Vec3 playerEyePos = player.getEyePosition();
-        if (ThirdPersonCompatibility.isThirdPersonActive()) {
-            Vec3 offset = ThirdPersonCompatibility.getThirdPersonCameraOffset();
-            playerEyePos = playerEyePos.add(offset.scale(0.3));
-        }
+        Minecraft mc = Minecraft.getInstance();
+        LocalPlayer player = mc.player;
+        if (player == null || mc.level == null) return;
+        CameraContext camera = ThirdPersonCompatibility.refreshContext();
+        if (mc.isPaused()) return;
+        if (targetEntity == null || !targetEntity.isAlive()) return;
 
-        Vec3 targetPos = targetEntity.getEyePosition();
-        if (ThirdPersonCompatibility.isThirdPersonActive())
-            targetPos = ThirdPersonCompatibility.getAdjustedTargetPosition(targetEntity, targetPos);
+        long start = LockOnMetrics.start();
+        updateCameraRotation(player, camera, event.renderTickTime, frameSeconds);
+        LockOnMetrics.record(Phase.CAMERA_UPDATE, start);
+    }
 
-        if (LockOnConfig.isPredictiveTargetingEnabled())
-            targetPos = targetPos.add(targetEntity.getDeltaMovement().scale(3.0));
+    /**
+     * Turns the view toward the target once per frame. Positions are interpolated with
+     * {@code partialTick}, and the per-tick smoothing factor is converted to this frame's
+     * share of it, so the feel is the same at any frame rate or TPS.
+     */
+    private static void updateCameraRotation(LocalPlayer player, CameraContext camera, float partialTick, float frameSeconds) {
+        // Whatever moved the view since our last write is the player's own input
+        float yaw = player.getYRot();
+        if (hasObservedYaw) flickInput += Mth.wrapDegrees(yaw - lastObservedYaw);
+        lastObservedYaw = yaw;
+        hasObservedYaw = true;
 
-        Vec3 direction = targetPos.subtract(playerEyePos).normalize();
-        float targetYaw   = (float)(Math.atan2(-direction.x, direction.z) * 180.0 / Math.PI);
-        float targetPitch = (float)(Math.asin(-direction.y) * 180.0 / Math.PI);
+        if (!LockOnConfig.isSmoothCameraEnabled()) return;
+
+        Vec3 playerEyePos = camera.towardCamera(player.getEyePosition(partialTick), 0.3);
 
-        float speed = calculateAdaptiveRotationSpeed(player, targetEntity);
-        if (ThirdPersonCompatibility.isThirdPersonActive())
-            speed = ThirdPersonCompatibility.getAdjustedRotationSpeed(speed);
+        boolean spring = LockOnConfig.isSpringCameraEnabled();
+        float settleTime = LockOnConfig.getCameraSettleTime();
+        float smooth = 0f;
+        double lead;
+        if (spring) {
+            lead = AngleSpring.lagSeconds(settleTime) * 20.0;
+        } else {
+            float speed = camera.adjustRotationSpeed(calculateAdaptiveRotationSpeed(player, camera, targetEntity));
+            smooth = camera.adjustSmoothing(LockOnConfig.getCameraSmoothness() * speed);
+            lead = responseLatencyTicks(smooth);
+        }
 
-        float smooth = LockOnConfig.getCameraSmoothness() * speed;
-        if (ThirdPersonCompatibility.shouldUseEnhancedSmoothing())
-            smooth = ThirdPersonCompatibility.getThirdPersonSmoothingFactor(smooth);
+        Vec3 targetPos = camera.adjustTargetPosition(targetEntity.getEyePosition(partialTick));
 
-        float newYaw   = interpolateAngle(player.getYRot(), targetYaw,   smooth);
-        float newPitch = interpolateAngle(player.getXRot(), targetPitch, smooth);
+        if (LockOnConfig.isPredictiveTargetingEnabled() && targetPredictor.isReady()) {
+            targetPos = targetPos.add(targetPredictor.leadX(lead), targetPredictor.leadY(lead), targetPredictor.leadZ(lead));
+        } else if (PositionUpdateTracker.isStale(targetEntity.getId())) {
+            // Keep moving with the target while its next update is overdue
+            targetPos = PositionUpdateTracker.deadReckon(targetEntity, targetPos, partialTick);
+        }
+
+        // Neither angle needs the direction normalised
+        double dx = targetPos.x - playerEyePos.x, dy = targetPos.y - playerEyePos.y, dz = targetPos.z - playerEyePos.z;
+        float targetYaw   = (float)(FastAngles.atan2(-dx, dz) * Mth.RAD_TO_DEG);
+        float targetPitch = (float)(FastAngles.atan2(-dy, Math.sqrt(dx * dx + dz * dz)) * Mth.RAD_TO_DEG);
+
+        float newYaw, newPitch;
+        if (spring) {
+            cameraSpring.update(yaw, player.getXRot(), targetYaw, targetPitch, settleTime, frameSeconds);
+            newYaw   = cameraSpring.yaw();
+            newPitch = cameraSpring.pitch();
+        } else {
+            float factor = frameSmoothing(smooth, frameSeconds);
+            newYaw   = interpolateAngle(yaw, targetYaw, factor);
+            newPitch = interpolateAngle(player.getXRot(), targetPitch, factor);
+        }
         newPitch = Math.max(-90f, Math.min(90f, newPitch));
 
         // Also set SS camera directly when active
-        if (ShoulderSurfingCompat.isActive()) {
+        if (camera.shoulderSurfingActive()) {
             ShoulderSurfingCompat.setCameraRotation(newYaw, newPitch);
         }
-
+        // Leawind keeps its own camera rotation too, which would otherwise lag behind in free
+        // rotation. It is written at AFTER_PARTICLES, see onRenderLevel
+        leawindRotationPending = camera.activeMod() == ThirdPersonCompatibility.ActiveThirdPersonMod.LEAWIND;
+        leawindYaw = newYaw;
+        leawindPitch = newPitch;
+
+        // Move the previous rotation along, as Entity.turn does, so body interpolation stays smooth
+        player.yRotO += newYaw - yaw;
+        player.xRotO += newPitch - player.getXRot();
         player.setYRot(newYaw);
         player.setXRot(newPitch);
-        prevYaw   = newYaw;
-        prevPitch = newPitch;
+        lastObservedYaw = newYaw;
+    }
+
+    /**
+     * Share of the remaining angle to close this frame, for a factor {@code smooth} that
+     * would be applied once per 20 Hz tick: 1 - (1 - smooth)^(elapsed ticks).
+     */
+    private static float frameSmoothing(float smooth, float frameSeconds) {
+        if (smooth >= 1f) return 1f;
+        if (smooth <= 0f || frameSeconds <= 0f) return 0f;
+        return 1f - (float) Math.pow(1f - smooth, frameSeconds * 20f);
     }
 
-    private static float calculateAdaptiveRotationSpeed(LocalPlayer player, Entity target) {
+    /**
+     * Ticks the camera trails a target moving at constant speed. Each tick closes {@code smooth}
+     * of the remaining angle, which settles at a lag of (1 - smooth) / smooth ticks.
+     */
+    private static double responseLatencyTicks(float smooth) {
+        float s = Math.max(0.05f, Math.min(1f, smooth));
+        return (1f - s) / s;
+    }
+
+    private static float calculateAdaptiveRotationSpeed(LocalPlayer player, CameraContext camera, Entity target) {
         float base = LockOnConfig.getRotationSpeed();
         if (!LockOnConfig.isAdaptiveRotationEnabled()) return base;
 
-        double distance = player.distanceTo(target);
+        double distance = player.distanceTo(target) + camera.cameraDistance();
         Vec3 dir = target.getEyePosition().subtract(player.getEyePosition()).normalize();
-        double angleDiff = Math.acos(Math.max(-1.0, Math.min(1.0, player.getLookAngle().dot(dir)))) * 180.0 / Math.PI;
+        double angleDiff = FastAngles.acos(player.getLookAngle().dot(dir)) * Mth.RAD_TO_DEG;
 
-        if (ThirdPersonCompatibility.isThirdPersonActive())
-            distance += ThirdPersonCompatibility.getThirdPersonCameraOffset().length();
-
-        float distFactor  = (float)(1.0 + ((float) LockOnConfig.getDistancePriorityWeight() * (distance / LockOnConfig.getMaxLockOnDistance())));
+        float distFactor  = (float)(1.0 + ((float) LockOnConfig.getDistancePriorityWeight() * (distance / camera.adjustRange(LockOnConfig.getMaxLockOnDistance()))));
         float angleFactor = (float)(1.0 + ((float) LockOnConfig.getAnglePriorityWeight()    * (angleDiff / 180.0)));
         return Math.max(LockOnConfig.getMinRotationSpeed(),
                 Math.min(LockOnConfig.getMaxRotationSpeed(), base * distFactor * angleFactor));
@@ -485,11 +850,17 @@ public class LockOnSystem {
     // =========================================================
 
     private static void setTarget(Entity target) {
+        if (target != targetEntity) {
+            targetPredictor.reset();
+            cameraSpring.reset();
+        }
         targetEntity = target;
         wasLocked = true;
-        entityValidationCache.clear();
-        lineOfSightCache.clear();
-        entityPositionCache.clear();
+        hasObservedYaw = false;
+        flickAccumulator = 0f;
+        flickInput = 0f;
+        lockPending = false;
+        lockDeferTicks = 0;
     }
 
     public static void clearTarget() {
@@ -499,11 +870,8 @@ public class LockOnSystem {
         currentTargetIndex = 0;
         wasLocked = false;
         runtimeTargetingMode = null;
-        lagTimeout = 0;
-        wasNetworkLagging = false;
-        entityValidationCache.clear();
-        lineOfSightCache.clear();
-        entityPositionCache.clear();
+        lockPending = false;
+        lockDeferTicks = 0;
         if (hadTarget) playSound(Minecraft.getInstance().player, "target_lost");
     }
 
@@ -513,11 +881,8 @@ public class LockOnSystem {
         currentTargetIndex = 0;
         wasLocked = false;
         runtimeTargetingMode = null;
-        lagTimeout = 0;
-        wasNetworkLagging = false;
-        entityValidationCache.clear();
-        lineOfSightCache.clear();
-        entityPositionCache.clear();
+        lockPending = false;
+        lockDeferTicks = 0;
     }
 
     private static void onTargetLost() {
@@ -533,9 +898,11 @@ public class LockOnSystem {
             return;
         }
 
-        if (isNetworkLagging()) {
-            lagTimeout++;
-            if (lagTimeout > MAX_LAG_TIMEOUT) clearTargetSilently();
+        // Only a target whose updates stopped for longer than its measured rate allows
+        if (PositionUpdateTracker.isLost(targetEntity.getId())) {
+            LOGGER.debug("No position update for {} in {} ticks, dropping lock",
+                    targetEntity.getId(), PositionUpdateTracker.ticksSinceUpdate(targetEntity.getId()));
+            clearTargetSilently();
             return;
         }
 
@@ -544,14 +911,9 @@ public class LockOnSystem {
         }
 
         if (currentTick % 10 == 0) {
-            double maxRange = LockOnConfig.getMaxLockOnDistance();
-            if (ThirdPersonCompatibility.isThirdPersonActive())
-                maxRange = ThirdPersonCompatibility.getAdjustedTargetingRange(maxRange);
+            double maxRange = ThirdPersonCompatibility.context().adjustRange(LockOnConfig.getMaxLockOnDistance());
             if (player.distanceTo(targetEntity) > maxRange) { clearTargetSilently(); return; }
         }
-
-        lagTimeout = 0;
-        updateCameraRotation(player);
     }
 
     // =========================================================
@@ -566,11 +928,16 @@ public class LockOnSystem {
         return isValidTargetCached(target, player);
     }
 
-    private static boolean isNetworkLagging() {
-        if (Minecraft.getInstance().hasSingleplayerServer()) return false;
-        if (targetEntity != null &&
-                System.currentTimeMillis() - targetEntity.tickCount > 1000) return true;
-        return false;
+    /**
+     * Samples position update arrivals for the locked target and the latest ranked candidates,
+     * so a candidate already has measured update statistics when it gets locked.
+     */
+    private static void observePositionUpdates() {
+        if (targetEntity != null) PositionUpdateTracker.observe(targetEntity);
+        for (int i = 0, n = ranked.size(); i < n; i++) {
+            LivingEntity entity = ranked.entity(i);
+            if (entity != targetEntity && !entity.isRemoved()) PositionUpdateTracker.observe(entity);
+        }
     }
 
     // =========================================================
@@ -648,36 +1015,8 @@ public class LockOnSystem {
         return false;
     }
 
-    private static double crosshairDistance(LocalPlayer player, Entity entity) {
-        Vec3 look = player.getLookAngle();
-        Vec3 toEntity = entity.getEyePosition().subtract(player.getEyePosition()).normalize();
-        return Math.acos(Math.max(-1.0, Math.min(1.0, look.dot(toEntity))));
-    }
-
-    private static double threatLevel(Entity entity) {
-        if (entity instanceof Monster) return 3.0;
-        if (entity instanceof Player)  return 2.0;
-        if (entity instanceof Animal)  return 1.0;
-        return 0.0;
-    }
-
-    private static double smartScore(LocalPlayer player, Entity entity) {
-        if (!(entity instanceof LivingEntity living)) return Double.MAX_VALUE;
-        double distance  = player.distanceTo(entity);
-        double angle     = crosshairDistance(player, entity);
-        double healthPct = living.getHealth() / living.getMaxHealth();
-        double threat    = threatLevel(entity);
-        return distance * LockOnConfig.getDistancePriorityWeight()
-                + angle   * LockOnConfig.getAnglePriorityWeight()
-                + (1.0 - healthPct) * LockOnConfig.getHealthPriorityWeight()
-                + (4.0 - threat)    * 0.1;
-    }
-
     private static void cleanCaches() {
-        long now = System.currentTimeMillis();
-        entityValidationCache.entrySet().removeIf(e -> now - e.getValue() > CACHE_VALIDATION_MS * 10);
-        lineOfSightCache.entrySet().removeIf(e -> e.getKey() == null || !e.getKey().isAlive());
-        entityPositionCache.entrySet().removeIf(e -> e.getKey() == null || !e.getKey().isAlive());
+        entityCache.advanceGeneration();
     }
 
     // =========================================================
@@ -711,7 +1050,8 @@ public class LockOnSystem {
         wasKeyHeld = false;
         indicatorVisible = true;
         lastThirdPersonState = false;
-        lastCameraOffset = Vec3.ZERO;
+        entityCache.clear();
+        LineOfSightService.clear();
         LOGGER.debug("Lock-On emergency reset complete");
     }
 
@@ -719,6 +1059,7 @@ public class LockOnSystem {
         return "Target: " + (targetEntity != null ? targetEntity.getDisplayName().getString() : "None")
                 + " | Targets: " + potentialTargets.size()
                 + " | ThirdPerson: " + ThirdPersonCompatibility.isThirdPersonActive()
-                + " | Mode: " + (runtimeTargetingMode != null ? runtimeTargetingMode : "Config");
+                + " | Mode: " + (runtimeTargetingMode != null ? runtimeTargetingMode : "Config")
+                + " | " + LockOnMetrics.summary();
     }
 }
\ No newline at end of file
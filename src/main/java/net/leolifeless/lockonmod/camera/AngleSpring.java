@@ -0,0 +1,84 @@
+package net.leolifeless.lockonmod.camera;
+
+import net.minecraft.util.Mth;
+
+/**
+ * Critically damped spring for camera yaw and pitch, integrated at a fixed step.
+ *
+ * The spring is parameterised by settle time: with {@code omega = 5.83 / settleSeconds} a step
+ * in the target decays as {@code (1 + omega t) e^(-omega t)}, which is within 2% after the
+ * settle time and never overshoots. Frame time is accumulated and consumed in fixed
+ * {@link #STEP}s, so tracking behaves the same at any frame rate or TPS, and the step is small
+ * enough for semi-implicit Euler to stay stable down to the shortest settle time allowed.
+ *
+ * The spring starts from wherever the view currently is on every update, so the player's own
+ * mouse input is kept and only the velocity carries over. One instance is reused across
+ * targets; {@link #reset()} drops the velocity.
+ */
+public class AngleSpring {
+
+    private static final float STEP = 1f / 240f;
+    private static final int MAX_STEPS = 60;
+    // omega * settle time for (1 + x) e^(-x) to fall to 2%
+    private static final float SETTLE_OMEGA_TIME = 5.834f;
+
+    private float yaw, pitch;
+    private float yawVelocity, pitchVelocity;
+    private float accumulator;
+
+    /**
+     * Advances the spring by {@code frameSeconds} from the current view toward the target.
+     * Read the result from {@link #yaw()} and {@link #pitch()}.
+     */
+    public void update(float currentYaw, float currentPitch, float targetYaw, float targetPitch,
+                       float settleSeconds, float frameSeconds) {
+        yaw = currentYaw;
+        pitch = currentPitch;
+
+        float omega = omegaFor(settleSeconds);
+        float stiffness = omega * omega;
+        float damping = 2f * omega;
+
+        // Aim at the copy of the target yaw nearest to the current one
+        float yawGoal = yaw + Mth.wrapDegrees(targetYaw - yaw);
+
+        accumulator = Math.min(accumulator + frameSeconds, MAX_STEPS * STEP);
+        while (accumulator >= STEP) {
+            accumulator -= STEP;
+            yawVelocity   += (stiffness * (yawGoal - yaw)       - damping * yawVelocity)   * STEP;
+            pitchVelocity += (stiffness * (targetPitch - pitch) - damping * pitchVelocity) * STEP;
+            yaw   += yawVelocity * STEP;
+            pitch += pitchVelocity * STEP;
+        }
+
+        if (pitch > 90f || pitch < -90f) {
+            pitch = Mth.clamp(pitch, -90f, 90f);
+            pitchVelocity = 0f;
+        }
+    }
+
+    public float yaw() {
+        return yaw;
+    }
+
+    public float pitch() {
+        return pitch;
+    }
+
+    public void reset() {
+        yawVelocity = 0f;
+        pitchVelocity = 0f;
+        accumulator = 0f;
+    }
+
+    /**
+     * Seconds the spring trails a target turning at constant angular speed (2 / omega).
+     */
+    public static float lagSeconds(float settleSeconds) {
+        return 2f / omegaFor(settleSeconds);
+    }
+
+    private static float omegaFor(float settleSeconds) {
+        return SETTLE_OMEGA_TIME / Math.max(0.05f, settleSeconds);
+    }
+}
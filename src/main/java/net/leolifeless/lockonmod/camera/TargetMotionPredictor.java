@@ -0,0 +1,212 @@
+package net.leolifeless.lockonmod.camera;
+
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Constant-acceleration Kalman filter over a target's observed positions.
+ *
+ * Each axis runs an independent three-state filter (position, velocity, acceleration) with
+ * white-noise jerk. Positions are sampled once per game tick into a small ring buffer; a
+ * sample identical to the previous one is treated as "no packet yet" rather than as a stop,
+ * until the target has not moved for {@link #STILL_AFTER_TICKS}, so sparse updates from a
+ * laggy server do not drag the velocity to zero between packets. A jump larger than
+ * {@link #RESET_DISTANCE} (teleport, respawn) re-seeds the filter from the ring.
+ *
+ * All state is primitive and updated in place, so observing and predicting never allocate.
+ */
+public class TargetMotionPredictor {
+
+    private static final int HISTORY = 8; // power of two
+    private static final int STILL_AFTER_TICKS = 4;
+    private static final double RESET_DISTANCE = 8.0;
+    private static final double MAX_LEAD_TICKS = 10.0;
+
+    // Noise in blocks; positions arrive quantised and interpolated, jerk covers strafing and jumps
+    private static final double MEASUREMENT_VARIANCE = 0.02 * 0.02;
+    private static final double JERK_DENSITY = 0.01;
+    private static final double INITIAL_VELOCITY_VARIANCE = 0.25;
+    private static final double INITIAL_ACCELERATION_VARIANCE = 0.05;
+
+    private final Axis ax = new Axis();
+    private final Axis ay = new Axis();
+    private final Axis az = new Axis();
+
+    private final long[]   historyTick = new long[HISTORY];
+    private final double[] historyX    = new double[HISTORY];
+    private final double[] historyY    = new double[HISTORY];
+    private final double[] historyZ    = new double[HISTORY];
+    private int historyHead = 0;
+    private int historySize = 0;
+
+    private int entityId = -1;
+    private long lastSampleTick = Long.MIN_VALUE;
+    private long lastUpdateTick = Long.MIN_VALUE;
+    private int updates = 0;
+
+    /**
+     * Feeds {@code target}'s current position at game tick {@code tick}. Repeated calls in the
+     * same tick are ignored, and a different entity resets the filter.
+     */
+    public void observe(Entity target, long tick) {
+        if (target.getId() != entityId) {
+            reset();
+            entityId = target.getId();
+        }
+        if (tick == lastSampleTick) return;
+        lastSampleTick = tick;
+
+        double x = target.getX(), y = target.getY(), z = target.getZ();
+        if (historySize > 0) {
+            int last = (historyHead - 1) & (HISTORY - 1);
+            boolean unchanged = x == historyX[last] && y == historyY[last] && z == historyZ[last];
+            if (unchanged && tick - historyTick[last] < STILL_AFTER_TICKS) return;
+        }
+        push(tick, x, y, z);
+
+        if (updates == 0) {
+            seed(tick);
+            return;
+        }
+
+        double dx = x - ax.p, dy = y - ay.p, dz = z - az.p;
+        if (dx * dx + dy * dy + dz * dz > RESET_DISTANCE * RESET_DISTANCE) {
+            historySize = 0;
+            push(tick, x, y, z);
+            seed(tick);
+            return;
+        }
+
+        double dt = Math.max(1, tick - lastUpdateTick);
+        ax.update(x, dt);
+        ay.update(y, dt);
+        az.update(z, dt);
+        lastUpdateTick = tick;
+        updates++;
+    }
+
+    /**
+     * True once the filter has seen enough samples to have a velocity estimate.
+     */
+    public boolean isReady() {
+        return updates >= 2;
+    }
+
+    /**
+     * Predicted displacement along each axis from the target's last reported position to
+     * {@code leadTicks} after the latest observed tick. Ticks spent waiting for the next
+     * position update are included, so a stale position is led further. The total lead is
+     * capped at {@link #MAX_LEAD_TICKS}.
+     */
+    public double leadX(double leadTicks) { return ax.displacement(clampLead(leadTicks)); }
+    public double leadY(double leadTicks) { return ay.displacement(clampLead(leadTicks)); }
+    public double leadZ(double leadTicks) { return az.displacement(clampLead(leadTicks)); }
+
+    public double speedPerTick() {
+        return Math.sqrt(ax.v * ax.v + ay.v * ay.v + az.v * az.v);
+    }
+
+    public void reset() {
+        entityId = -1;
+        historySize = 0;
+        historyHead = 0;
+        lastSampleTick = Long.MIN_VALUE;
+        lastUpdateTick = Long.MIN_VALUE;
+        updates = 0;
+    }
+
+    private double clampLead(double leadTicks) {
+        double sinceUpdate = Math.max(0, lastSampleTick - lastUpdateTick);
+        return Math.max(0.0, Math.min(MAX_LEAD_TICKS, leadTicks + sinceUpdate));
+    }
+
+    private void push(long tick, double x, double y, double z) {
+        historyTick[historyHead] = tick;
+        historyX[historyHead] = x;
+        historyY[historyHead] = y;
+        historyZ[historyHead] = z;
+        historyHead = (historyHead + 1) & (HISTORY - 1);
+        if (historySize < HISTORY) historySize++;
+    }
+
+    /**
+     * Starts the filter at the newest sample, with a velocity from the two newest samples
+     * when there are two.
+     */
+    private void seed(long tick) {
+        int last = (historyHead - 1) & (HISTORY - 1);
+        double vx = 0, vy = 0, vz = 0;
+        if (historySize >= 2) {
+            int prev = (historyHead - 2) & (HISTORY - 1);
+            double dt = Math.max(1, historyTick[last] - historyTick[prev]);
+            vx = (historyX[last] - historyX[prev]) / dt;
+            vy = (historyY[last] - historyY[prev]) / dt;
+            vz = (historyZ[last] - historyZ[prev]) / dt;
+        }
+        ax.seed(historyX[last], vx);
+        ay.seed(historyY[last], vy);
+        az.seed(historyZ[last], vz);
+        lastUpdateTick = tick;
+        updates = historySize >= 2 ? 2 : 1;
+    }
+
+    /**
+     * One axis: state (p, v, a) and the upper triangle of its covariance.
+     */
+    private static final class Axis {
+        double p, v, a;
+        double p00, p01, p02, p11, p12, p22;
+
+        void seed(double position, double velocity) {
+            p = position;
+            v = velocity;
+            a = 0.0;
+            p00 = MEASUREMENT_VARIANCE;
+            p01 = p02 = p12 = 0.0;
+            p11 = INITIAL_VELOCITY_VARIANCE;
+            p22 = INITIAL_ACCELERATION_VARIANCE;
+        }
+
+        void update(double measured, double dt) {
+            double h = 0.5 * dt * dt;
+
+            // Predict: x = F x
+            p += v * dt + a * h;
+            v += a * dt;
+
+            // P = F P F^T + Q
+            double a00 = p00 + dt * p01 + h * p02;
+            double a01 = p01 + dt * p11 + h * p12;
+            double a02 = p02 + dt * p12 + h * p22;
+            double a11 = p11 + dt * p12;
+            double a12 = p12 + dt * p22;
+
+            double dt2 = dt * dt, dt3 = dt2 * dt, dt4 = dt3 * dt, dt5 = dt4 * dt;
+            p00 = a00 + dt * a01 + h * a02 + JERK_DENSITY * dt5 / 20.0;
+            p01 = a01 + dt * a02           + JERK_DENSITY * dt4 / 8.0;
+            p02 = a02                      + JERK_DENSITY * dt3 / 6.0;
+            p11 = a11 + dt * a12           + JERK_DENSITY * dt3 / 3.0;
+            p12 = a12                      + JERK_DENSITY * dt2 / 2.0;
+            p22 = p22                      + JERK_DENSITY * dt;
+
+            // Update with a position measurement
+            double s = p00 + MEASUREMENT_VARIANCE;
+            double k0 = p00 / s, k1 = p01 / s, k2 = p02 / s;
+            double innovation = measured - p;
+            p += k0 * innovation;
+            v += k1 * innovation;
+            a += k2 * innovation;
+
+            double q00 = p00, q01 = p01, q02 = p02;
+            p00 -= k0 * q00;
+            p01 -= k0 * q01;
+            p02 -= k0 * q02;
+            p11 -= k1 * q01;
+            p12 -= k1 * q02;
+            p22 -= k2 * q02;
+        }
+
+        double displacement(double t) {
+            return v * t + 0.5 * a * t * t;
+        }
+    }
+}
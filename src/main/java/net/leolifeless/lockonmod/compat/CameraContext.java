@@ -0,0 +1,80 @@
+package net.leolifeless.lockonmod.compat;
+
+import net.leolifeless.lockonmod.compat.ThirdPersonCompatibility.ActiveThirdPersonMod;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * The third person camera state for one tick or frame, captured once by
+ * {@link ThirdPersonCompatibility#refreshContext()} and then read by everything that adjusts
+ * for it, so camera mod detection does not run again for every adjusted value.
+ *
+ * @param activeMod             camera mod in control, {@code NONE} in first person
+ * @param cameraOffset          camera offset from the player's eyes
+ * @param shoulderSurfingActive Shoulder Surfing is installed and shoulder surfing, even when
+ *                              another mod is reported as active
+ * @param enhanced              the third person enhancements option; when off, range, angle and
+ *                              indicator size keep their configured values
+ */
+public record CameraContext(ActiveThirdPersonMod activeMod, Vec3 cameraOffset, boolean shoulderSurfingActive,
+                            boolean enhanced, double rangeMultiplier, double angleMultiplier,
+                            float speedMultiplier, float smoothingMultiplier, double targetOffsetScale) {
+
+    public static final CameraContext FIRST_PERSON =
+            new CameraContext(ActiveThirdPersonMod.NONE, Vec3.ZERO, false, false, 1.0, 1.0, 1f, 1f, 0.0);
+
+    private static final double MAX_ANGLE = 180.0;
+    private static final float MAX_INDICATOR_SCALE = 1.5f;
+
+    public static CameraContext of(ActiveThirdPersonMod mod, Vec3 offset, boolean shoulderSurfingActive, boolean enhanced) {
+        switch (mod) {
+            case NONE:             return shoulderSurfingActive ? new CameraContext(mod, Vec3.ZERO, true, false, 1.0, 1.0, 1f, 1f, 0.0) : FIRST_PERSON;
+            case SHOULDER_SURFING: return new CameraContext(mod, offset, shoulderSurfingActive, enhanced, 1.3, 1.4, 0.8f,  1.2f,  0.15);
+            case LEAWIND:          return new CameraContext(mod, offset, shoulderSurfingActive, enhanced, 1.2, 1.3, 0.85f, 1.15f, 0.1);
+            default:               return new CameraContext(mod, offset, shoulderSurfingActive, enhanced, 1.1, 1.15, 0.9f, 1.1f,  0.1);
+        }
+    }
+
+    public boolean isThirdPerson() {
+        return activeMod != ActiveThirdPersonMod.NONE;
+    }
+
+    public double cameraDistance() {
+        return cameraOffset.length();
+    }
+
+    // === ADJUSTMENTS (identity in first person) ===
+
+    public double adjustRange(double baseRange) {
+        return isThirdPerson() && enhanced ? baseRange * rangeMultiplier + cameraDistance() : baseRange;
+    }
+
+    public double adjustAngle(double baseAngle) {
+        return isThirdPerson() && enhanced ? Math.min(baseAngle * angleMultiplier, MAX_ANGLE) : baseAngle;
+    }
+
+    public float adjustRotationSpeed(float baseSpeed) {
+        return baseSpeed * speedMultiplier;
+    }
+
+    public float adjustSmoothing(float baseFactor) {
+        return isThirdPerson() ? Math.min(baseFactor * smoothingMultiplier, 1.0f) : baseFactor;
+    }
+
+    public float adjustIndicatorSize(float baseSize) {
+        if (!isThirdPerson() || !enhanced) return baseSize;
+        float scale = 1.0f + (float) (cameraDistance() * 0.05);
+        if (activeMod == ActiveThirdPersonMod.SHOULDER_SURFING) scale *= 1.1f;
+        return baseSize * Math.min(scale, MAX_INDICATOR_SCALE);
+    }
+
+    public Vec3 adjustTargetPosition(Vec3 basePosition) {
+        return isThirdPerson() ? basePosition.add(cameraOffset.scale(targetOffsetScale)) : basePosition;
+    }
+
+    /**
+     * {@code base} moved {@code share} of the way toward the camera, or unchanged in first person.
+     */
+    public Vec3 towardCamera(Vec3 base, double share) {
+        return isThirdPerson() ? base.add(cameraOffset.scale(share)) : base;
+    }
+}
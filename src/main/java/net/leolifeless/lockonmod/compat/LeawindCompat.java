@@ -4,8 +4,10 @@ import com.mojang.logging.LogUtils;
 import net.minecraftforge.fml.ModList;
 import org.slf4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 
 public class LeawindCompat {
     private static final Logger LOGGER = LogUtils.getLogger();
@@ -14,15 +16,9 @@ public class LeawindCompat {
     private static boolean loaded = false;
     private static boolean initialized = false;
 
-    // Cached once at init - never looked up per frame
+    // Agents are fetched lazily, CAMERA_AGENT may still be null at init
     private static Object cameraAgentInstance = null;
-    private static Class<?> vector2dClass = null;
-    private static Field relativeRotationField = null;
-    private static Field vec2dX = null;
-    private static Field vec2dY = null;
     private static Object entityAgentInstance = null;
-    private static Method setRotateTargetMethod = null;
-    private static Method setRotationSmoothTypeMethod = null;
     private static Object cameraRotationEnum = null;
     private static Object hardSmoothEnum = null;
 
@@ -31,6 +27,82 @@ public class LeawindCompat {
     private static long lastCacheUpdate = 0;
     private static final long CACHE_DURATION_MS = 1000;
 
+    /**
+     * Accessors bound once, when this class is first initialised. Calls through static final
+     * handles with exact types are inlined by the JIT like direct field access and pass the
+     * rotation as primitive doubles, where Field.get/set boxed them on every frame. Every
+     * handle is null if Leawind is absent or its internals did not match.
+     */
+    private static final class Handles {
+        static final MethodHandle CAMERA_AGENT;          // ()Object
+        static final MethodHandle ENTITY_AGENT;          // ()Object
+        static final MethodHandle RELATIVE_ROTATION;     // (Object)Object
+        static final MethodHandle GET_X, GET_Y;          // (Object)double
+        static final MethodHandle SET_X, SET_Y;          // (Object, double)void
+        static final MethodHandle SET_ROTATE_TARGET;     // (Object, Object)void
+        static final MethodHandle SET_ROTATION_SMOOTH;   // (Object, Object)void
+        static final Class<?> ROTATE_TARGET_CLASS, SMOOTH_TYPE_CLASS;
+
+        static {
+            MethodHandle cameraAgent = null, entityAgent = null, relativeRotation = null;
+            MethodHandle getX = null, getY = null, setX = null, setY = null;
+            MethodHandle setRotateTarget = null, setRotationSmooth = null;
+            Class<?> rotateTargetClass = null, smoothTypeClass = null;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodType getter = MethodType.methodType(Object.class);
+                MethodType memberGetter = MethodType.methodType(Object.class, Object.class);
+                MethodType setter = MethodType.methodType(void.class, Object.class, Object.class);
+
+                Class<?> thirdPersonClass = Class.forName("com.github.leawind.thirdperson.ThirdPerson");
+                Class<?> cameraAgentClass = Class.forName("com.github.leawind.thirdperson.core.CameraAgent");
+                Class<?> entityAgentClass = Class.forName("com.github.leawind.thirdperson.core.EntityAgent");
+                Class<?> vector2dClass = Class.forName("org.joml.Vector2d"); // JOML, already on the classpath
+                rotateTargetClass = Class.forName("com.github.leawind.thirdperson.core.rotation.RotateTargetEnum");
+                smoothTypeClass = Class.forName("com.github.leawind.thirdperson.core.rotation.SmoothTypeEnum");
+
+                cameraAgent = lookup.unreflectGetter(accessible(thirdPersonClass.getDeclaredField("CAMERA_AGENT"))).asType(getter);
+                entityAgent = lookup.unreflectGetter(accessible(thirdPersonClass.getDeclaredField("ENTITY_AGENT"))).asType(getter);
+                // relativeRotation is private in CameraAgent
+                relativeRotation = lookup.unreflectGetter(accessible(cameraAgentClass.getDeclaredField("relativeRotation")))
+                        .asType(memberGetter);
+
+                // x and y are public fields on Vector2d
+                Field x = vector2dClass.getField("x"), y = vector2dClass.getField("y");
+                MethodType doubleGetter = MethodType.methodType(double.class, Object.class);
+                MethodType doubleSetter = MethodType.methodType(void.class, Object.class, double.class);
+                getX = lookup.unreflectGetter(x).asType(doubleGetter);
+                getY = lookup.unreflectGetter(y).asType(doubleGetter);
+                setX = lookup.unreflectSetter(x).asType(doubleSetter);
+                setY = lookup.unreflectSetter(y).asType(doubleSetter);
+
+                setRotateTarget = lookup.unreflect(entityAgentClass.getMethod("setRotateTarget", rotateTargetClass)).asType(setter);
+                setRotationSmooth = lookup.unreflect(entityAgentClass.getMethod("setRotationSmoothType", smoothTypeClass)).asType(setter);
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                LOGGER.warn("Leawind compat binding failed: {}", e.getMessage());
+                cameraAgent = entityAgent = relativeRotation = getX = getY = setX = setY = null;
+                setRotateTarget = setRotationSmooth = null;
+            }
+            CAMERA_AGENT = cameraAgent;
+            ENTITY_AGENT = entityAgent;
+            RELATIVE_ROTATION = relativeRotation;
+            GET_X = getX;
+            GET_Y = getY;
+            SET_X = setX;
+            SET_Y = setY;
+            SET_ROTATE_TARGET = setRotateTarget;
+            SET_ROTATION_SMOOTH = setRotationSmooth;
+            ROTATE_TARGET_CLASS = rotateTargetClass;
+            SMOOTH_TYPE_CLASS = smoothTypeClass;
+        }
+
+        private static Field accessible(Field field) {
+            field.setAccessible(true);
+            return field;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public static void initialize() {
         loaded = ModList.get().isLoaded(MOD_ID);
         if (!loaded) {
@@ -38,77 +110,20 @@ public class LeawindCompat {
             return;
         }
 
+        initialized = Handles.RELATIVE_ROTATION != null;
+        if (!initialized) return;
+
         try {
-            // Step 1: Get ThirdPerson main class
-            Class<?> thirdPersonClass = Class.forName(
-                    "com.github.leawind.thirdperson.ThirdPerson"
-            );
-
-            // Step 2: Get CAMERA_AGENT singleton instance
-            Field cameraAgentField = thirdPersonClass.getDeclaredField("CAMERA_AGENT");
-            cameraAgentField.setAccessible(true);
-            cameraAgentInstance = cameraAgentField.get(null);
-
-            if (cameraAgentInstance == null) {
-                LOGGER.warn("Leawind: CAMERA_AGENT is null at init - will retry on first use");
-            }
+            cameraRotationEnum = Enum.valueOf((Class<Enum>) Handles.ROTATE_TARGET_CLASS, "CAMERA_ROTATION");
+            hardSmoothEnum = Enum.valueOf((Class<Enum>) Handles.SMOOTH_TYPE_CLASS, "HARD");
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Leawind rotation enums not found: {}", e.getMessage());
+        }
 
-            // Step 3: Get CameraAgent class
-            Class<?> cameraAgentClass = Class.forName(
-                    "com.github.leawind.thirdperson.core.CameraAgent"
-            );
-
-            // Step 4: Get Vector2d class (JOML - already on classpath)
-            vector2dClass = Class.forName("org.joml.Vector2d");
-
-            // Step 5: Cache the relativeRotation field and its x/y accessors
-            // relativeRotation is private in CameraAgent - need getDeclaredField
-            relativeRotationField = cameraAgentClass.getDeclaredField("relativeRotation");
-            relativeRotationField.setAccessible(true);
-
-            // x and y are public fields on Vector2d
-            vec2dX = vector2dClass.getField("x");
-            vec2dY = vector2dClass.getField("y");
-            // Get EntityAgent
-            Field entityAgentField = thirdPersonClass.getDeclaredField("ENTITY_AGENT");
-            entityAgentField.setAccessible(true);
-            entityAgentInstance = entityAgentField.get(null);
-
-            Class<?> entityAgentClass = Class.forName(
-                    "com.github.leawind.thirdperson.core.EntityAgent"
-            );
-
-            // Get RotateTargetEnum and SmoothTypeEnum
-            Class<?> rotateTargetClass = Class.forName(
-                    "com.github.leawind.thirdperson.core.rotation.RotateTargetEnum"
-            );
-            Class<?> smoothTypeClass = Class.forName(
-                    "com.github.leawind.thirdperson.core.rotation.SmoothTypeEnum"
-            );
-
-            // Cache the enum values we need
-            cameraRotationEnum = Enum.valueOf(
-                    (Class<Enum>) rotateTargetClass, "CAMERA_ROTATION"
-            );
-            hardSmoothEnum = Enum.valueOf(
-                    (Class<Enum>) smoothTypeClass, "HARD"
-            );
-
-            // Cache the setter methods
-            setRotateTargetMethod = entityAgentClass.getMethod(
-                    "setRotateTarget", rotateTargetClass
-            );
-            setRotationSmoothTypeMethod = entityAgentClass.getMethod(
-                    "setRotationSmoothType", smoothTypeClass
-            );
-
-            initialized = true;
-            LOGGER.info("Leawind compat initialized - relativeRotation field cached");
-
-        } catch (Exception e) {
-            LOGGER.warn("Leawind compat init failed: {}", e.getMessage());
-            initialized = false;
+        if (getCameraAgent() == null) {
+            LOGGER.warn("Leawind: CAMERA_AGENT is null at init - will retry on first use");
         }
+        LOGGER.info("Leawind compat initialized - relativeRotation accessors bound");
     }
 
     /**
@@ -118,14 +133,9 @@ public class LeawindCompat {
     private static Object getCameraAgent() {
         if (cameraAgentInstance != null) return cameraAgentInstance;
         try {
-            Class<?> thirdPersonClass = Class.forName(
-                    "com.github.leawind.thirdperson.ThirdPerson"
-            );
-            Field f = thirdPersonClass.getDeclaredField("CAMERA_AGENT");
-            f.setAccessible(true);
-            cameraAgentInstance = f.get(null);
-        } catch (Exception e) {
-            LOGGER.debug("getCameraAgent retry failed: {}", e.getMessage());
+            cameraAgentInstance = (Object) Handles.CAMERA_AGENT.invokeExact();
+        } catch (Throwable t) {
+            LOGGER.debug("getCameraAgent retry failed: {}", t.getMessage());
         }
         return cameraAgentInstance;
     }
@@ -144,15 +154,15 @@ public class LeawindCompat {
      * AFTER Leawind's overwrite, so our values stick.
      */
     public static void setCameraRotation(float yaw, float pitch) {
-        if (!initialized || relativeRotationField == null) return;
+        if (!initialized) return;
         try {
             Object agent = getCameraAgent();
             if (agent == null) return;
-            Object relRot = relativeRotationField.get(agent);
-            vec2dX.set(relRot, (double) -pitch);       // relativeRotation.x = -pitch
-            vec2dY.set(relRot, (double) (yaw - 180.0)); // relativeRotation.y = yaw - 180
-        } catch (Exception e) {
-            LOGGER.debug("Leawind setCameraRotation failed: {}", e.getMessage());
+            Object relRot = (Object) Handles.RELATIVE_ROTATION.invokeExact(agent);
+            Handles.SET_X.invokeExact(relRot, (double) -pitch);       // relativeRotation.x = -pitch
+            Handles.SET_Y.invokeExact(relRot, (double) (yaw - 180.0)); // relativeRotation.y = yaw - 180
+        } catch (Throwable t) {
+            LOGGER.debug("Leawind setCameraRotation failed: {}", t.getMessage());
         }
     }
 
@@ -161,16 +171,16 @@ public class LeawindCompat {
      * Returns float[]{yaw, pitch}
      */
     public static float[] getCameraRotation() {
-        if (!initialized || relativeRotationField == null) return new float[]{0f, 0f};
+        if (!initialized) return new float[]{0f, 0f};
         try {
             Object agent = getCameraAgent();
             if (agent == null) return new float[]{0f, 0f};
-            Object relRot = relativeRotationField.get(agent);
-            double x = (double) vec2dX.get(relRot); // = -pitch
-            double y = (double) vec2dY.get(relRot); // = yaw - 180
+            Object relRot = (Object) Handles.RELATIVE_ROTATION.invokeExact(agent);
+            double x = (double) Handles.GET_X.invokeExact(relRot); // = -pitch
+            double y = (double) Handles.GET_Y.invokeExact(relRot); // = yaw - 180
             return new float[]{(float) (y + 180), (float) (-x)}; // {yaw, pitch}
-        } catch (Exception e) {
-            LOGGER.debug("Leawind getCameraRotation failed: {}", e.getMessage());
+        } catch (Throwable t) {
+            LOGGER.debug("Leawind getCameraRotation failed: {}", t.getMessage());
         }
         return new float[]{0f, 0f};
     }
@@ -183,28 +193,23 @@ public class LeawindCompat {
      * automatically every render tick.
      */
     public static void forceCameraFollowEntity() {
-        if (!initialized || setRotateTargetMethod == null) return;
+        if (!initialized || cameraRotationEnum == null || hardSmoothEnum == null) return;
         try {
             Object agent = getEntityAgent();
             if (agent == null) return;
-            setRotateTargetMethod.invoke(agent, cameraRotationEnum);
-            setRotationSmoothTypeMethod.invoke(agent, hardSmoothEnum);
-        } catch (Exception e) {
-            LOGGER.debug("forceCameraFollowEntity failed: {}", e.getMessage());
+            Handles.SET_ROTATE_TARGET.invokeExact(agent, cameraRotationEnum);
+            Handles.SET_ROTATION_SMOOTH.invokeExact(agent, hardSmoothEnum);
+        } catch (Throwable t) {
+            LOGGER.debug("forceCameraFollowEntity failed: {}", t.getMessage());
         }
     }
 
     private static Object getEntityAgent() {
         if (entityAgentInstance != null) return entityAgentInstance;
         try {
-            Class<?> thirdPersonClass = Class.forName(
-                    "com.github.leawind.thirdperson.ThirdPerson"
-            );
-            Field f = thirdPersonClass.getDeclaredField("ENTITY_AGENT");
-            f.setAccessible(true);
-            entityAgentInstance = f.get(null);
-        } catch (Exception e) {
-            LOGGER.debug("getEntityAgent retry failed: {}", e.getMessage());
+            entityAgentInstance = (Object) Handles.ENTITY_AGENT.invokeExact();
+        } catch (Throwable t) {
+            LOGGER.debug("getEntityAgent retry failed: {}", t.getMessage());
         }
         return entityAgentInstance;
     }
@@ -1,6 +1,7 @@
 package net.leolifeless.lockonmod.compat;
 
 import com.mojang.logging.LogUtils;
+import net.leolifeless.lockonmod.LockOnConfig;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.world.entity.Entity;
@@ -8,6 +9,14 @@ import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.fml.ModList;
 import org.slf4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
 /**
  * Compatibility handler for third person mods (1.19.2)
  * - Shoulder Surfing Reloaded (full API support)
@@ -27,17 +36,11 @@ public class ThirdPersonCompatibility {
     private static boolean isLeawindInitialized      = false;
     private static boolean isShoulderSurfingInitialized = false;
 
-    private static ActiveThirdPersonMod activeMod = ActiveThirdPersonMod.NONE;
-
-    // Leawind reflection (basic — no full API on 1.19.2)
-    private static Class<?> leawindConfigClass;
-    private static java.lang.reflect.Method leawindIsEnabledMethod;
-    private static java.lang.reflect.Field  leawindEnabledField;
+    // Refreshed once per client tick and once per frame
+    private static volatile CameraContext context = CameraContext.FIRST_PERSON;
 
-    // Camera offset cache
-    private static Vec3  cachedCameraOffset = Vec3.ZERO;
-    private static long  lastCacheTime      = 0;
-    private static final long CACHE_DURATION_MS = 16;
+    // Leawind enabled flag, bound once as ()boolean (no full API on 1.19.2); null if absent
+    private static final MethodHandle LEAWIND_ENABLED = bindLeawindEnabled();
 
     public enum ActiveThirdPersonMod {
         NONE,
@@ -71,39 +74,56 @@ public class ThirdPersonCompatibility {
     // =========================================================
 
     private static void initializeLeawind() {
+        isLeawindInitialized = LEAWIND_ENABLED != null;
+        LeawindCompat.initialize();
+        LOGGER.info("Leawind init: {}", isLeawindInitialized ? "OK" : "basic fallback");
+    }
+
+    private static MethodHandle bindLeawindEnabled() {
         try {
+            if (!ModList.get().isLoaded(LEAWIND_MOD_ID)) return null;
+
             String[] classes = {
                     "com.github.leawind.thirdperson.config.Config",
                     "com.github.leawind.thirdperson.Config",
                     "leawind.thirdperson.config.Config",
                     "leawind.thirdperson.Config"
             };
+            Class<?> configClass = null;
             for (String c : classes) {
-                try { leawindConfigClass = Class.forName(c); break; }
+                try { configClass = Class.forName(c); break; }
                 catch (ClassNotFoundException ignored) {}
             }
-
-            if (leawindConfigClass != null) {
-                for (String m : new String[]{"isModEnabled", "isEnabled", "isAvailable"}) {
-                    try { leawindIsEnabledMethod = leawindConfigClass.getMethod(m); break; }
-                    catch (NoSuchMethodException ignored) {}
-                }
-                if (leawindIsEnabledMethod == null) {
-                    for (String f : new String[]{"enabled", "isEnabled", "modEnabled"}) {
-                        try {
-                            leawindEnabledField = leawindConfigClass.getField(f);
-                            leawindEnabledField.setAccessible(true);
-                            break;
-                        } catch (NoSuchFieldException ignored) {}
+            if (configClass == null) return null;
+
+            // Only static boolean accessors can be called without a config instance; anything
+            // else moves on to the next candidate instead of failing the whole binding
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType type = MethodType.methodType(boolean.class);
+            for (String m : new String[]{"isModEnabled", "isEnabled", "isAvailable"}) {
+                try {
+                    Method method = configClass.getMethod(m);
+                    if (Modifier.isStatic(method.getModifiers()) && isBoolean(method.getReturnType()))
+                        return lookup.unreflect(method).asType(type);
+                } catch (NoSuchMethodException | WrongMethodTypeException ignored) {}
+            }
+            for (String f : new String[]{"enabled", "isEnabled", "modEnabled"}) {
+                try {
+                    Field field = configClass.getField(f);
+                    if (Modifier.isStatic(field.getModifiers()) && isBoolean(field.getType())) {
+                        field.setAccessible(true);
+                        return lookup.unreflectGetter(field).asType(type);
                     }
-                }
-                isLeawindInitialized = leawindIsEnabledMethod != null || leawindEnabledField != null;
+                } catch (NoSuchFieldException | WrongMethodTypeException ignored) {}
             }
-            LOGGER.info("Leawind init: {}", isLeawindInitialized ? "OK" : "basic fallback");
         } catch (Exception e) {
             LOGGER.warn("Leawind init failed: {}", e.getMessage());
-            isLeawindInitialized = false;
         }
+        return null;
+    }
+
+    private static boolean isBoolean(Class<?> type) {
+        return type == boolean.class || type == Boolean.class;
     }
 
     // =========================================================
@@ -111,6 +131,10 @@ public class ThirdPersonCompatibility {
     // =========================================================
 
     private static ActiveThirdPersonMod detectActiveMod() {
+        return detectActiveMod(isShoulderSurfingLoaded && ShoulderSurfingCompat.isActive());
+    }
+
+    private static ActiveThirdPersonMod detectActiveMod(boolean shoulderSurfingActive) {
         try {
             Minecraft mc = Minecraft.getInstance();
             if (mc.options == null) return ActiveThirdPersonMod.NONE;
@@ -119,7 +143,7 @@ public class ThirdPersonCompatibility {
             if (isLeawindLoaded && isLeawindEnabled())
                 return ActiveThirdPersonMod.LEAWIND;
 
-            if (isShoulderSurfingLoaded && ShoulderSurfingCompat.isActive())
+            if (shoulderSurfingActive)
                 return ActiveThirdPersonMod.SHOULDER_SURFING;
 
             return ActiveThirdPersonMod.MINECRAFT_VANILLA;
@@ -131,38 +155,56 @@ public class ThirdPersonCompatibility {
 
     private static boolean isLeawindEnabled() {
         if (!isLeawindLoaded) return false;
+        if (LEAWIND_ENABLED == null) return true; // assume enabled if we can't check
         try {
-            if (leawindIsEnabledMethod != null) {
-                Boolean r = (Boolean) leawindIsEnabledMethod.invoke(null);
-                return r != null && r;
-            }
-            if (leawindEnabledField != null) {
-                Boolean r = (Boolean) leawindEnabledField.get(null);
-                return r != null && r;
-            }
-        } catch (Exception e) {
-            LOGGER.debug("isLeawindEnabled error: {}", e.getMessage());
+            return (boolean) LEAWIND_ENABLED.invokeExact();
+        } catch (Throwable t) {
+            LOGGER.debug("isLeawindEnabled error: {}", t.getMessage());
+            return true;
         }
-        return true; // assume enabled if we can't check
     }
 
     // =========================================================
-    //  PUBLIC API
+    //  CONTEXT
     // =========================================================
 
-    public static boolean isThirdPersonActive() {
+    /**
+     * Detects the active camera mod and its offset and publishes them as the current
+     * {@link CameraContext}. Called at the start of each client tick and each frame; everything
+     * else reads {@link #context()}.
+     */
+    public static CameraContext refreshContext() {
+        CameraContext next;
         try {
-            activeMod = detectActiveMod();
-            return activeMod != ActiveThirdPersonMod.NONE;
+            boolean shoulderSurfing = isShoulderSurfingLoaded && ShoulderSurfingCompat.isActive();
+            ActiveThirdPersonMod mod = detectActiveMod(shoulderSurfing);
+            next = CameraContext.of(mod, cameraOffsetFor(mod), shoulderSurfing,
+                    LockOnConfig.areThirdPersonEnhancementsEnabled());
         } catch (Exception e) {
-            LOGGER.debug("isThirdPersonActive error: {}", e.getMessage());
-            return false;
+            LOGGER.debug("refreshContext error: {}", e.getMessage());
+            next = CameraContext.FIRST_PERSON;
         }
+        context = next;
+        return next;
+    }
+
+    /**
+     * Camera state as of the last {@link #refreshContext()}.
+     */
+    public static CameraContext context() {
+        return context;
+    }
+
+    // =========================================================
+    //  PUBLIC API
+    // =========================================================
+
+    public static boolean isThirdPersonActive() {
+        return context.isThirdPerson();
     }
 
     public static ActiveThirdPersonMod getActiveMod() {
-        try { return detectActiveMod(); }
-        catch (Exception e) { return ActiveThirdPersonMod.NONE; }
+        return context.activeMod();
     }
 
     public static boolean isModLoaded() {
@@ -184,29 +226,27 @@ public class ThirdPersonCompatibility {
     // =========================================================
 
     public static Vec3 getThirdPersonCameraOffset() {
+        return context.cameraOffset();
+    }
+
+    public static Vec3 getCachedThirdPersonCameraOffset() {
+        return context.cameraOffset();
+    }
+
+    private static Vec3 cameraOffsetFor(ActiveThirdPersonMod mod) {
         try {
-            activeMod = detectActiveMod();
-            switch (activeMod) {
+            switch (mod) {
                 case LEAWIND:          return new Vec3(0, 0, -4.0);
                 case SHOULDER_SURFING: return getShoulderSurfingOffset();
                 case MINECRAFT_VANILLA: return getVanillaOffset();
                 default: return Vec3.ZERO;
             }
         } catch (Exception e) {
-            LOGGER.debug("getThirdPersonCameraOffset error: {}", e.getMessage());
+            LOGGER.debug("cameraOffsetFor error: {}", e.getMessage());
             return Vec3.ZERO;
         }
     }
 
-    public static Vec3 getCachedThirdPersonCameraOffset() {
-        long now = System.currentTimeMillis();
-        if (now - lastCacheTime > CACHE_DURATION_MS) {
-            cachedCameraOffset = getThirdPersonCameraOffset();
-            lastCacheTime = now;
-        }
-        return cachedCameraOffset;
-    }
-
     private static Vec3 getShoulderSurfingOffset() {
         Vec3 offset = ShoulderSurfingCompat.getCameraRenderOffset();
         return offset != Vec3.ZERO ? offset : new Vec3(1.5, 0, -3.0);
@@ -233,60 +273,31 @@ public class ThirdPersonCompatibility {
     // =========================================================
 
     public static double getAdjustedTargetingRange(double baseRange) {
-        if (!isThirdPersonActive()) return baseRange;
-        double dist = getCachedThirdPersonCameraOffset().length();
-        switch (activeMod) {
-            case SHOULDER_SURFING: return baseRange * 1.3 + dist;
-            case LEAWIND:          return baseRange * 1.2 + dist;
-            default:               return baseRange * 1.1 + dist;
-        }
+        return context.adjustRange(baseRange);
     }
 
     public static double getAdjustedTargetingAngle(double baseAngle) {
-        if (!isThirdPersonActive()) return baseAngle;
-        switch (activeMod) {
-            case SHOULDER_SURFING: return Math.min(baseAngle * 1.4, 180.0);
-            case LEAWIND:          return Math.min(baseAngle * 1.3, 180.0);
-            default:               return Math.min(baseAngle * 1.15, 180.0);
-        }
+        return context.adjustAngle(baseAngle);
     }
 
     public static float getAdjustedRotationSpeed(float baseSpeed) {
-        if (!isThirdPersonActive()) return baseSpeed;
-        switch (activeMod) {
-            case SHOULDER_SURFING: return baseSpeed * 0.8f;
-            case LEAWIND:          return baseSpeed * 0.85f;
-            default:               return baseSpeed * 0.9f;
-        }
+        return context.adjustRotationSpeed(baseSpeed);
     }
 
     public static float getAdjustedIndicatorSize(float baseSize) {
-        if (!isThirdPersonActive()) return baseSize;
-        double dist = getCachedThirdPersonCameraOffset().length();
-        float scale = 1.0f + (float)(dist * 0.05);
-        if (activeMod == ActiveThirdPersonMod.SHOULDER_SURFING) scale *= 1.1f;
-        return baseSize * Math.min(scale, 1.5f);
+        return context.adjustIndicatorSize(baseSize);
     }
 
     public static Vec3 getAdjustedTargetPosition(Entity target, Vec3 basePosition) {
-        if (!isThirdPersonActive() || target == null) return basePosition;
-        Vec3 offset = getCachedThirdPersonCameraOffset();
-        return activeMod == ActiveThirdPersonMod.SHOULDER_SURFING
-                ? basePosition.add(offset.scale(0.15))
-                : basePosition.add(offset.scale(0.1));
+        return target == null ? basePosition : context.adjustTargetPosition(basePosition);
     }
 
     public static boolean shouldUseEnhancedSmoothing() {
-        return isThirdPersonActive();
+        return context.isThirdPerson();
     }
 
     public static float getThirdPersonSmoothingFactor(float baseFactor) {
-        if (!isThirdPersonActive()) return baseFactor;
-        switch (activeMod) {
-            case SHOULDER_SURFING: return Math.min(baseFactor * 1.2f, 1.0f);
-            case LEAWIND:          return Math.min(baseFactor * 1.15f, 1.0f);
-            default:               return Math.min(baseFactor * 1.1f, 1.0f);
-        }
+        return context.adjustSmoothing(baseFactor);
     }
 
     // =========================================================
@@ -294,7 +305,7 @@ public class ThirdPersonCompatibility {
     // =========================================================
 
     public static String getCompatibilityStatus() {
-        activeMod = detectActiveMod();
+        ActiveThirdPersonMod activeMod = detectActiveMod();
         StringBuilder sb = new StringBuilder("Third Person (1.19.2):");
         if (isLeawindLoaded)         sb.append(" Leawind(").append(isLeawindInitialized ? "OK" : "basic").append(")");
         if (isShoulderSurfingLoaded) sb.append(" ShoulderSurfing(OK)");
@@ -315,7 +326,7 @@ public class ThirdPersonCompatibility {
     public static boolean isCameraCenteredForFlying() {
         try {
             LocalPlayer player = Minecraft.getInstance().player;
-            return activeMod == ActiveThirdPersonMod.LEAWIND
+            return context.activeMod() == ActiveThirdPersonMod.LEAWIND
                     && player != null && player.isFallFlying();
         } catch (Exception e) { return false; }
     }
@@ -0,0 +1,141 @@
+package net.leolifeless.lockonmod.los;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * Immutable copy of the block-state palettes of the chunk sections a batch of rays crosses.
+ *
+ * Built on the client thread, then read from the line-of-sight workers. Sections that were
+ * not loaded or held only air are not copied and read back as air, which matches what the
+ * client level itself reports for them.
+ */
+public class BlockSnapshot implements BlockGetter {
+
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections;
+    private final int minBuildHeight;
+    private final int height;
+
+    private BlockSnapshot(Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections, int minBuildHeight, int height) {
+        this.sections = sections;
+        this.minBuildHeight = minBuildHeight;
+        this.height = height;
+    }
+
+    public BlockState getBlockState(int x, int y, int z) {
+        PalettedContainer<BlockState> states = sections.get(SectionPos.asLong(x >> 4, y >> 4, z >> 4));
+        return states != null ? states.get(x & 15, y & 15, z & 15) : Blocks.AIR.defaultBlockState();
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return getBlockState(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minBuildHeight;
+    }
+
+    public int sectionCount() {
+        return sections.size();
+    }
+
+    // =========================================================
+    //  BUILDER
+    // =========================================================
+
+    /**
+     * Collects section copies for one batch. Every section is copied at most once per batch,
+     * however many rays cross it.
+     */
+    public static class Builder {
+        private static final int MAX_SECTION_STEPS = 128;
+
+        private final ClientLevel level;
+        private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+        private final LongOpenHashSet visited = new LongOpenHashSet();
+
+        public Builder(ClientLevel level) {
+            this.level = level;
+        }
+
+        /**
+         * Copies every section the segment passes through, walking it one section at a time
+         * (Amanatides-Woo traversal on a 16 block grid). The keys of the crossed sections are
+         * appended to {@code crossed}.
+         */
+        public void addSegment(double x0, double y0, double z0, double x1, double y1, double z1, LongArrayList crossed) {
+            int sx = Mth.floor(x0) >> 4, sy = Mth.floor(y0) >> 4, sz = Mth.floor(z0) >> 4;
+            int ex = Mth.floor(x1) >> 4, ey = Mth.floor(y1) >> 4, ez = Mth.floor(z1) >> 4;
+            double dx = x1 - x0, dy = y1 - y0, dz = z1 - z0;
+
+            int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+            int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+            int stepZ = dz > 0 ? 1 : dz < 0 ? -1 : 0;
+            double tDeltaX = stepX != 0 ? 16.0 / Math.abs(dx) : Double.POSITIVE_INFINITY;
+            double tDeltaY = stepY != 0 ? 16.0 / Math.abs(dy) : Double.POSITIVE_INFINITY;
+            double tDeltaZ = stepZ != 0 ? 16.0 / Math.abs(dz) : Double.POSITIVE_INFINITY;
+            double tMaxX = stepX != 0 ? (((stepX > 0 ? sx + 1 : sx) << 4) - x0) / dx : Double.POSITIVE_INFINITY;
+            double tMaxY = stepY != 0 ? (((stepY > 0 ? sy + 1 : sy) << 4) - y0) / dy : Double.POSITIVE_INFINITY;
+            double tMaxZ = stepZ != 0 ? (((stepZ > 0 ? sz + 1 : sz) << 4) - z0) / dz : Double.POSITIVE_INFINITY;
+
+            addSection(sx, sy, sz, crossed);
+            for (int i = 0; i < MAX_SECTION_STEPS && (sx != ex || sy != ey || sz != ez); i++) {
+                if (tMaxX < tMaxY && tMaxX < tMaxZ) { sx += stepX; tMaxX += tDeltaX; }
+                else if (tMaxY < tMaxZ)             { sy += stepY; tMaxY += tDeltaY; }
+                else                                { sz += stepZ; tMaxZ += tDeltaZ; }
+                addSection(sx, sy, sz, crossed);
+            }
+        }
+
+        private void addSection(int sx, int sy, int sz, LongArrayList crossed) {
+            long key = SectionPos.asLong(sx, sy, sz);
+            crossed.add(key);
+            if (!visited.add(key)) return;
+
+            int index = level.getSectionIndexFromSectionY(sy);
+            if (index < 0 || index >= level.getSectionsCount()) return;
+
+            LevelChunk chunk = level.getChunkSource().getChunk(sx, sz, ChunkStatus.FULL, false);
+            if (chunk == null) return;
+
+            LevelChunkSection section = chunk.getSection(index);
+            if (section == null || section.hasOnlyAir()) return;
+            sections.put(key, section.getStates().copy());
+        }
+
+        public BlockSnapshot build() {
+            return new BlockSnapshot(sections, level.getMinBuildHeight(), level.getHeight());
+        }
+    }
+}
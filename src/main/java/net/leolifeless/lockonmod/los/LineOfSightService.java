@@ -0,0 +1,361 @@
+package net.leolifeless.lockonmod.los;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.leolifeless.lockonmod.LockOnConfig;
+import net.leolifeless.lockonmod.LockOnMod;
+import net.leolifeless.lockonmod.metrics.LockOnMetrics;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.CollisionContext;
+import net.minecraft.world.phys.shapes.EntityCollisionContext;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous, block-change-aware line-of-sight checks for lock-on.
+ *
+ * Requests made during a client tick are collected into one batch. At the end of the tick
+ * {@link #flush(ClientLevel)} copies the block-state palettes of every chunk section the
+ * batch crosses into a {@link BlockSnapshot} and hands the batch to a worker, which walks
+ * the snapshot with the {@link VoxelRaycaster}. {@link #poll(long)} picks up finished
+ * batches at the start of the next tick, so a lock press in a crowd never raycasts on the
+ * client thread.
+ *
+ * Each target is sampled at up to three points, eyes first, then body centre, then feet,
+ * stopping at the first clear ray. The number of blocked samples ahead of the clear one
+ * gives a partial visibility that scoring can use.
+ *
+ * A result is exact for the entity, player eye block and target eye block it was traced
+ * from. Once either eye moves to another block the result is still served, marked stale,
+ * while a re-check is queued, so a walking target keeps its last known visibility instead
+ * of dropping out until the worker catches up. Each result is indexed by the chunk sections
+ * its ray crossed, and block updates and chunk loads drop exactly the results whose rays ran
+ * through the changed section. The age limit is only a backstop for changes that arrive
+ * without a block update.
+ */
+@Mod.EventBusSubscriber(modid = LockOnMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class LineOfSightService {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final int HIDDEN  = 0;
+    public static final int VISIBLE = 1;
+    public static final int PENDING = -1;
+
+    private static final long RESULT_MAX_AGE_TICKS = 100;
+    private static final long PRUNE_INTERVAL_TICKS = 40;
+    private static final double FEET_SAMPLE_OFFSET = 0.1;
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 4)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "LockOn-LOS-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+
+    private static final Int2ObjectOpenHashMap<Result> results = new Int2ObjectOpenHashMap<>();
+    private static final Long2ObjectOpenHashMap<List<Result>> resultsBySection = new Long2ObjectOpenHashMap<>();
+    private static final IntOpenHashSet inFlight = new IntOpenHashSet();
+    private static final IntOpenHashSet stale = new IntOpenHashSet();
+    private static final ConcurrentLinkedQueue<List<Result>> completed = new ConcurrentLinkedQueue<>();
+
+    // Sections changed while a batch was on the worker, so its results can be discarded
+    private static final Long2LongOpenHashMap sectionChangedAt = new Long2LongOpenHashMap();
+    private static long changeSeq = 0;
+    // Batches submitted before the last clear() belong to a previous level
+    private static long clearedAtSeq = 0;
+
+    private static List<Request> batch = new ArrayList<>();
+    private static long currentTick = 0;
+    private static long lastPrune = 0;
+    // Player collision state, captured on the client thread once per tick for the workers
+    private static CollisionContext context = CollisionContext.empty();
+    private static long contextTick = Long.MIN_VALUE;
+
+    // =========================================================
+    //  CLIENT THREAD API
+    // =========================================================
+
+    /**
+     * Returns {@link #VISIBLE} or {@link #HIDDEN} from the last result for {@code target}. If it
+     * was traced from other player or target eye blocks it is marked {@link #isStale stale} and
+     * a re-check is queued for this tick's batch. {@link #PENDING} only when no result exists.
+     */
+    public static int query(LocalPlayer player, Entity target, Vec3 start) {
+        int id = target.getId();
+        Vec3 eye = target.getEyePosition();
+        long eyeCell = cellOf(start);
+        long targetCell = cellOf(eye);
+
+        Result result = results.get(id);
+        if (result != null && result.eyeCell == eyeCell && result.targetCell == targetCell) {
+            stale.remove(id);
+            return result.visible ? VISIBLE : HIDDEN;
+        }
+
+        if (inFlight.add(id)) {
+            batch.add(new Request(id, eyeCell, targetCell, start, samplePoints(target, eye),
+                    snapshotContext(player), SightTransparency.current(), LockOnConfig.getLineOfSightFluids(), new LongArrayList()));
+        }
+        if (result == null) return PENDING;
+        stale.add(id);
+        return result.visible ? VISIBLE : HIDDEN;
+    }
+
+    /**
+     * True if the last {@link #query} for {@code entityId} answered from a result traced for
+     * other eye blocks, while its re-check is on the way.
+     */
+    public static boolean isStale(int entityId) {
+        return stale.contains(entityId);
+    }
+
+    /**
+     * Fraction of the target's sample points considered visible by its current result, in
+     * (0, 1] for a visible target and 0 for a hidden one. 1 if no result is known.
+     */
+    public static float visibility(int entityId) {
+        Result result = results.get(entityId);
+        return result != null ? result.visibility : 1f;
+    }
+
+    /**
+     * Moves finished worker results into the result table. Call once per tick before querying.
+     */
+    public static void poll(long gameTime) {
+        currentTick = gameTime;
+        List<Result> done;
+        while ((done = completed.poll()) != null) {
+            for (Result r : done) {
+                if (r.seq < clearedAtSeq) continue;
+                inFlight.remove(r.entityId);
+                if (changedSince(r)) continue;
+                results.put(r.entityId, r);
+                for (long section : r.sections)
+                    resultsBySection.computeIfAbsent(section, k -> new ArrayList<>()).add(r);
+            }
+        }
+        if (inFlight.isEmpty()) sectionChangedAt.clear();
+
+        if (currentTick - lastPrune >= PRUNE_INTERVAL_TICKS || currentTick < lastPrune) {
+            prune();
+            lastPrune = currentTick;
+        }
+    }
+
+    /**
+     * Snapshots the sections crossed by this tick's requests and submits them as one batch.
+     */
+    public static void flush(ClientLevel level) {
+        if (batch.isEmpty()) return;
+        List<Request> requests = batch;
+        batch = new ArrayList<>();
+
+        BlockSnapshot.Builder builder = new BlockSnapshot.Builder(level);
+        for (Request r : requests) {
+            for (Vec3 to : r.samples)
+                builder.addSegment(r.from.x, r.from.y, r.from.z, to.x, to.y, to.z, r.sections);
+        }
+        BlockSnapshot snapshot = builder.build();
+        long tick = currentTick;
+        long seq = changeSeq;
+
+        try {
+            WORKERS.execute(() -> completed.add(evaluate(snapshot, requests, tick, seq)));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Line-of-sight worker rejected batch, evaluating inline: {}", e.getMessage());
+            completed.add(evaluate(snapshot, requests, tick, seq));
+        }
+    }
+
+    /**
+     * Drops every result and pending request. Results of batches still on the worker are
+     * discarded when they arrive.
+     */
+    public static void clear() {
+        clearedAtSeq = ++changeSeq;
+        results.clear();
+        resultsBySection.clear();
+        inFlight.clear();
+        stale.clear();
+        batch.clear();
+        completed.clear();
+        sectionChangedAt.clear();
+        contextTick = Long.MIN_VALUE;
+    }
+
+    public static int resultCount() {
+        return results.size();
+    }
+
+    // =========================================================
+    //  INVALIDATION
+    // =========================================================
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!event.getLevel().isClientSide()) return;
+        invalidateSection(SectionPos.asLong(event.getPos()));
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        invalidateColumn(event.getLevel(), event.getChunk().getPos());
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        invalidateColumn(event.getLevel(), event.getChunk().getPos());
+    }
+
+    private static void invalidateColumn(LevelAccessor level, ChunkPos pos) {
+        if (level == null || !level.isClientSide()) return;
+        for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+            invalidateSection(SectionPos.asLong(pos.x, sy, pos.z));
+        }
+    }
+
+    private static void invalidateSection(long section) {
+        changeSeq++;
+        if (!inFlight.isEmpty()) sectionChangedAt.put(section, changeSeq);
+
+        List<Result> affected = resultsBySection.remove(section);
+        if (affected == null) return;
+        for (Result r : affected) {
+            // The index may still hold results that have since been replaced
+            if (results.get(r.entityId) == r) {
+                results.remove(r.entityId);
+                stale.remove(r.entityId);
+            }
+        }
+    }
+
+    private static boolean changedSince(Result r) {
+        if (sectionChangedAt.isEmpty()) return false;
+        for (long section : r.sections) {
+            if (sectionChangedAt.get(section) > r.seq) return true;
+        }
+        return false;
+    }
+
+    private static void prune() {
+        Iterator<Result> it = results.values().iterator();
+        while (it.hasNext()) {
+            Result r = it.next();
+            long age = currentTick - r.tick;
+            if (age > RESULT_MAX_AGE_TICKS || age < 0) {
+                it.remove();
+                stale.remove(r.entityId);
+            }
+        }
+
+        Iterator<List<Result>> sections = resultsBySection.values().iterator();
+        while (sections.hasNext()) {
+            List<Result> list = sections.next();
+            list.removeIf(r -> results.get(r.entityId) != r);
+            if (list.isEmpty()) sections.remove();
+        }
+    }
+
+    /**
+     * The player's collision state as of this tick. {@link CollisionContext#of} would read the
+     * live player from the workers, so the context carries copies and no entity.
+     */
+    private static CollisionContext snapshotContext(LocalPlayer player) {
+        if (contextTick != currentTick) {
+            context = new EntityCollisionContext(player.isDescending(), player.getY(),
+                    player.getMainHandItem().copy(), fluid -> false, null) {};
+            contextTick = currentTick;
+        }
+        return context;
+    }
+
+    // Ordered by how likely the point is to be exposed
+    private static Vec3[] samplePoints(Entity target, Vec3 eye) {
+        int rays = LockOnConfig.getLineOfSightRaysPerEntity();
+        Vec3[] samples = new Vec3[Math.max(1, Math.min(3, rays))];
+        samples[0] = eye;
+        if (samples.length > 1) samples[1] = target.getBoundingBox().getCenter();
+        if (samples.length > 2) samples[2] = target.position().add(0, FEET_SAMPLE_OFFSET, 0);
+        return samples;
+    }
+
+    private static long cellOf(Vec3 pos) {
+        return BlockPos.asLong(Mth.floor(pos.x), Mth.floor(pos.y), Mth.floor(pos.z));
+    }
+
+    // =========================================================
+    //  WORKER
+    // =========================================================
+
+    private static List<Result> evaluate(BlockSnapshot snapshot, List<Request> requests, long tick, long seq) {
+        List<Result> out = new ArrayList<>(requests.size());
+        for (Request r : requests) {
+            float visibility;
+            try {
+                visibility = sampleVisibility(snapshot, r);
+            } catch (Exception e) {
+                LOGGER.debug("Line-of-sight evaluation failed: {}", e.getMessage());
+                visibility = 1f;
+            }
+            out.add(new Result(r.entityId, visibility > 0f, visibility, r.eyeCell, r.targetCell,
+                    new LongOpenHashSet(r.sections).toLongArray(), tick, seq));
+        }
+        return out;
+    }
+
+    /**
+     * 1 - blocked / samples for the first clear sample, or 0 if every sample is blocked.
+     */
+    private static float sampleVisibility(BlockSnapshot snapshot, Request r) {
+        int n = r.samples.length;
+        for (int i = 0; i < n; i++) {
+            if (VoxelRaycaster.isClear(snapshot, r.from, r.samples[i], r.transparent, r.fluids, r.context)) {
+                LockOnMetrics.count(LockOnMetrics.Counter.RAYS_CAST, i + 1);
+                return 1f - (float) i / n;
+            }
+        }
+        LockOnMetrics.count(LockOnMetrics.Counter.RAYS_CAST, n);
+        return 0f;
+    }
+
+    // =========================================================
+    //  DATA
+    // =========================================================
+
+    private record Request(int entityId, long eyeCell, long targetCell, Vec3 from, Vec3[] samples,
+                           CollisionContext context, BitSet transparent, LockOnConfig.FluidPolicy fluids,
+                           LongArrayList sections) {}
+
+    private record Result(int entityId, boolean visible, float visibility, long eyeCell, long targetCell,
+                          long[] sections, long tick, long seq) {}
+}
@@ -0,0 +1,99 @@
+package net.leolifeless.lockonmod.los;
+
+import com.mojang.logging.LogUtils;
+import net.leolifeless.lockonmod.LockOnConfig;
+import net.leolifeless.lockonmod.LockOnConfigSnapshot;
+import net.leolifeless.lockonmod.LockOnMod;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.common.Tags;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Block states lock-on can see through, as a bitset indexed by block-state id.
+ *
+ * Built from the forge glass tags (when glass penetration is on) and the
+ * {@code transparentBlocks} config list. Rebuilt when the config changes and when the
+ * client receives tags. Published sets are never mutated, so the line-of-sight workers
+ * can read them without locking.
+ */
+@Mod.EventBusSubscriber(modid = LockOnMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class SightTransparency {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static volatile BitSet transparent = new BitSet();
+    private static volatile long builtForVersion = -1;
+
+    /**
+     * Transparent state ids for the current config. Must be called on the client thread.
+     */
+    public static BitSet current() {
+        LockOnConfigSnapshot config = LockOnConfig.snapshot();
+        if (builtForVersion != config.version()) rebuild(config);
+        return transparent;
+    }
+
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        builtForVersion = -1;
+    }
+
+    private static void rebuild(LockOnConfigSnapshot config) {
+        List<TagKey<Block>> tags = new ArrayList<>();
+        Set<Block> blocks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        if (config.penetrateGlass()) {
+            tags.add(Tags.Blocks.GLASS);
+            tags.add(Tags.Blocks.GLASS_PANES);
+            // Tags are only bound once the client has joined a world
+            blocks.add(Blocks.GLASS);
+            blocks.add(Blocks.GLASS_PANE);
+        }
+
+        for (String entry : config.transparentBlocks()) {
+            boolean isTag = entry.startsWith("#");
+            ResourceLocation id = ResourceLocation.tryParse(isTag ? entry.substring(1) : entry);
+            if (id == null) {
+                LOGGER.warn("Ignoring invalid transparent block entry: {}", entry);
+            } else if (isTag) {
+                tags.add(BlockTags.create(id));
+            } else {
+                Registry.BLOCK.getOptional(id).ifPresentOrElse(blocks::add,
+                        () -> LOGGER.warn("Unknown transparent block: {}", entry));
+            }
+        }
+
+        BitSet bits = new BitSet(Block.BLOCK_STATE_REGISTRY.size());
+        for (BlockState state : Block.BLOCK_STATE_REGISTRY) {
+            if (blocks.contains(state.getBlock()) || hasAny(state, tags))
+                bits.set(Block.getId(state));
+        }
+
+        transparent = bits;
+        builtForVersion = config.version();
+        LOGGER.debug("Lock-on transparency rebuilt: {} block states", bits.cardinality());
+    }
+
+    private static boolean hasAny(BlockState state, List<TagKey<Block>> tags) {
+        for (int i = 0; i < tags.size(); i++) {
+            if (state.is(tags.get(i))) return true;
+        }
+        return false;
+    }
+}
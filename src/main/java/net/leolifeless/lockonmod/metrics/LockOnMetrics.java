@@ -0,0 +1,111 @@
+package net.leolifeless.lockonmod.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-phase latency histograms and work counters for the lock-on pipeline.
+ *
+ * Timed sections call {@link #start()} and then {@link #record(Phase, long)}; each call is one
+ * sample, so a phase that runs twice in a tick records two. Everything here may be recorded
+ * from any thread, including the line-of-sight workers, and read at any time.
+ */
+public final class LockOnMetrics {
+
+    public enum Phase {
+        /** All of LockOnSystem's client tick. */
+        CLIENT_TICK("tick"),
+        /** Spatial grid query for entities around the player. */
+        ENTITY_QUERY("query"),
+        /** Range, validity and targeting cone checks. */
+        FILTERING("filter"),
+        /** Client thread side of line of sight: result lookups, queueing and snapshotting. */
+        LINE_OF_SIGHT("los"),
+        /** Scoring and sorting the surviving candidates. */
+        SCORING("score"),
+        /** Per-frame camera rotation. */
+        CAMERA_UPDATE("camera"),
+        /** Lock-on indicator in the world. */
+        WORLD_INDICATOR("indicator"),
+        /** Lock-on HUD panel. */
+        HUD("hud");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public enum Counter {
+        /** Entities checked against range and validity. */
+        CANDIDATES_EXAMINED,
+        /** Line-of-sight rays traced by the workers. */
+        RAYS_CAST
+    }
+
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[Phase.values().length];
+    private static final LongAdder[] COUNTERS = new LongAdder[Counter.values().length];
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) HISTOGRAMS[i] = new LatencyHistogram();
+        for (int i = 0; i < COUNTERS.length; i++) COUNTERS[i] = new LongAdder();
+    }
+
+    private LockOnMetrics() {}
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since {@code startNanos}, a value from {@link #start()}, for {@code phase}.
+     */
+    public static void record(Phase phase, long startNanos) {
+        HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public static void count(Counter counter, long amount) {
+        COUNTERS[counter.ordinal()].add(amount);
+    }
+
+    public static LatencyHistogram histogram(Phase phase) {
+        return HISTOGRAMS[phase.ordinal()];
+    }
+
+    public static long counter(Counter counter) {
+        return COUNTERS[counter.ordinal()].sum();
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) histogram.reset();
+        for (LongAdder counter : COUNTERS) counter.reset();
+    }
+
+    /**
+     * One line of p50/p99 in microseconds for every phase that has samples, then the counters.
+     */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = histogram(phase);
+            if (histogram.count() == 0) continue;
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(phase.label()).append(' ')
+                    .append(micros(histogram.percentile(0.5))).append('/')
+                    .append(micros(histogram.percentile(0.99)));
+        }
+        if (sb.length() == 0) sb.append("no samples");
+        sb.append(" (p50/p99 us) | Examined: ").append(counter(Counter.CANDIDATES_EXAMINED))
+                .append(" | Rays: ").append(counter(Counter.RAYS_CAST));
+        return sb.toString();
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
@@ -0,0 +1,133 @@
+package net.leolifeless.lockonmod.targeting;
+
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+
+import java.util.Arrays;
+
+/**
+ * Candidates sorted by horizontal angle from the view direction, for directional switching.
+ *
+ * Offsets are Minecraft yaw degrees relative to the view yaw the index was built with, in
+ * [-180, 180), negative to the left and positive to the right. {@link #neighbour} measures the
+ * current target against the same reference and binary-searches for the nearest candidate on
+ * the requested side, so switching does not depend on the order candidates were found in.
+ */
+public class AngularTargetIndex {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private float[]  offsets  = new float[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private double eyeX, eyeZ;
+    private float viewYaw;
+
+    /**
+     * Rebuilds the index from {@code buf} as seen from the given eye position and view yaw.
+     */
+    public void rebuild(CandidateBuffer buf, double eyeX, double eyeZ, float viewYaw) {
+        clear();
+        this.eyeX = eyeX;
+        this.eyeZ = eyeZ;
+        this.viewYaw = viewYaw;
+
+        int n = buf.size();
+        if (n > entities.length) {
+            entities = new Entity[Math.max(n, entities.length * 2)];
+            offsets  = new float[entities.length];
+        }
+
+        // Insertion sort, candidate lists are at most a few hundred entries
+        for (int i = 0; i < n; i++) {
+            float offset = offsetOf(buf.x(i), buf.z(i));
+            int j = size - 1;
+            while (j >= 0 && offsets[j] > offset) {
+                offsets[j + 1] = offsets[j];
+                entities[j + 1] = entities[j];
+                j--;
+            }
+            offsets[j + 1] = offset;
+            entities[j + 1] = buf.entity(i);
+            size++;
+        }
+    }
+
+    /**
+     * Re-measures the indexed candidates at their current positions from a new eye position and
+     * view yaw, keeping the same set. O(k) while the order barely changed, as between ticks.
+     */
+    public void refresh(double eyeX, double eyeZ, float viewYaw) {
+        this.eyeX = eyeX;
+        this.eyeZ = eyeZ;
+        this.viewYaw = viewYaw;
+
+        for (int i = 0; i < size; i++) {
+            Entity entity = entities[i];
+            float offset = offsetOf(entity.getX(), entity.getZ());
+            int j = i - 1;
+            while (j >= 0 && offsets[j] > offset) {
+                offsets[j + 1] = offsets[j];
+                entities[j + 1] = entities[j];
+                j--;
+            }
+            offsets[j + 1] = offset;
+            entities[j + 1] = entity;
+        }
+    }
+
+    /**
+     * Nearest candidate to the left ({@code direction < 0}) or right ({@code direction > 0})
+     * of {@code current}, or null if there is none on that side.
+     */
+    public Entity neighbour(Entity current, int direction) {
+        if (size == 0 || direction == 0) return null;
+        float from = offsetOf(current.getX(), current.getZ());
+
+        if (direction > 0) {
+            for (int i = upperBound(from); i < size; i++) {
+                if (entities[i] != current && entities[i].isAlive()) return entities[i];
+            }
+        } else {
+            for (int i = lowerBound(from) - 1; i >= 0; i--) {
+                if (entities[i] != current && entities[i].isAlive()) return entities[i];
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+    }
+
+    private float offsetOf(double x, double z) {
+        float yaw = (float) (Mth.atan2(-(x - eyeX), z - eyeZ) * Mth.RAD_TO_DEG);
+        return Mth.wrapDegrees(yaw - viewYaw);
+    }
+
+    // First index with offset > value
+    private int upperBound(float value) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid] <= value) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index with offset >= value
+    private int lowerBound(float value) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid] < value) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,183 @@
+package net.leolifeless.lockonmod.targeting;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable structure-of-arrays buffer of lock-on candidates.
+ *
+ * Every feature the targeting pipeline filters or scores on is copied once into a
+ * primitive column, so the filter and scoring passes run as plain loops with no
+ * per-entity allocation. Filters compact the buffer in place with {@link #move(int, int)}
+ * followed by {@link #truncate(int)}. Arrays only grow, so a warm buffer never allocates.
+ */
+public class CandidateBuffer {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size = 0;
+
+    private int[]    ids        = new int[INITIAL_CAPACITY];
+    private double[] x          = new double[INITIAL_CAPACITY];
+    private double[] y          = new double[INITIAL_CAPACITY];
+    private double[] z          = new double[INITIAL_CAPACITY];
+    private float[]  eyeHeight  = new float[INITIAL_CAPACITY];
+    private float[]  health     = new float[INITIAL_CAPACITY];
+    private float[]  maxHealth  = new float[INITIAL_CAPACITY];
+    private double[] distanceSq = new double[INITIAL_CAPACITY];
+    private double[] score      = new double[INITIAL_CAPACITY];
+    private float[]  visibility = new float[INITIAL_CAPACITY];
+    private LivingEntity[] entities = new LivingEntity[INITIAL_CAPACITY];
+
+    // Scratch for retainInOrder, slot <-> original index
+    private int[] at    = new int[INITIAL_CAPACITY];
+    private int[] where = new int[INITIAL_CAPACITY];
+    private int[] order = new int[INITIAL_CAPACITY];
+
+    public void reset() {
+        // Drop references so the buffer never keeps entities from an old level alive
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(LivingEntity entity, double distSq) {
+        if (size == ids.length) grow();
+        int i = size++;
+        ids[i]        = entity.getId();
+        x[i]          = entity.getX();
+        y[i]          = entity.getY();
+        z[i]          = entity.getZ();
+        eyeHeight[i]  = entity.getEyeHeight();
+        health[i]     = entity.getHealth();
+        maxHealth[i]  = entity.getMaxHealth();
+        distanceSq[i] = distSq;
+        score[i]      = 0.0;
+        visibility[i] = 1f;
+        entities[i]   = entity;
+    }
+
+    /**
+     * Copies slot {@code from} into slot {@code to}. Used by in-place compaction.
+     */
+    public void move(int from, int to) {
+        if (from == to) return;
+        ids[to]        = ids[from];
+        x[to]          = x[from];
+        y[to]          = y[from];
+        z[to]          = z[from];
+        eyeHeight[to]  = eyeHeight[from];
+        health[to]     = health[from];
+        maxHealth[to]  = maxHealth[from];
+        distanceSq[to] = distanceSq[from];
+        score[to]      = score[from];
+        visibility[to] = visibility[from];
+        entities[to]   = entities[from];
+    }
+
+    public void swap(int a, int b) {
+        if (a == b) return;
+        int ti = ids[a];           ids[a] = ids[b];               ids[b] = ti;
+        double td = x[a];          x[a] = x[b];                   x[b] = td;
+        td = y[a];                 y[a] = y[b];                   y[b] = td;
+        td = z[a];                 z[a] = z[b];                   z[b] = td;
+        float tf = eyeHeight[a];   eyeHeight[a] = eyeHeight[b];   eyeHeight[b] = tf;
+        tf = health[a];            health[a] = health[b];         health[b] = tf;
+        tf = maxHealth[a];         maxHealth[a] = maxHealth[b];   maxHealth[b] = tf;
+        td = distanceSq[a];        distanceSq[a] = distanceSq[b]; distanceSq[b] = td;
+        td = score[a];             score[a] = score[b];           score[b] = td;
+        tf = visibility[a];        visibility[a] = visibility[b]; visibility[b] = tf;
+        LivingEntity te = entities[a]; entities[a] = entities[b]; entities[b] = te;
+    }
+
+    /**
+     * Keeps only the slots listed in {@code order[0..count)}, moved to the front in that order.
+     */
+    public void retainInOrder(int[] order, int count) {
+        for (int i = 0; i < size; i++) { at[i] = i; where[i] = i; }
+        for (int p = 0; p < count; p++) {
+            int s = where[order[p]];
+            swap(p, s);
+            int o1 = at[p], o2 = at[s];
+            at[p] = o2; at[s] = o1;
+            where[o2] = p; where[o1] = s;
+        }
+        truncate(count);
+    }
+
+    /**
+     * Sorts the buffer by ascending score. Buffers hold at most a few hundred candidates, so
+     * an insertion sort over slot indices followed by one permutation pass is plenty.
+     */
+    public void sortByScore() {
+        for (int i = 0; i < size; i++) order[i] = i;
+        for (int i = 1; i < size; i++) {
+            int slot = order[i];
+            double s = score[slot];
+            int j = i - 1;
+            while (j >= 0 && score[order[j]] > s) { order[j + 1] = order[j]; j--; }
+            order[j + 1] = slot;
+        }
+        retainInOrder(order, size);
+    }
+
+    public void truncate(int newSize) {
+        if (newSize >= size) return;
+        Arrays.fill(entities, newSize, size, null);
+        size = newSize;
+    }
+
+    public int id(int i)              { return ids[i]; }
+    public double x(int i)            { return x[i]; }
+    public double y(int i)            { return y[i]; }
+    public double z(int i)            { return z[i]; }
+    public double eyeY(int i)         { return y[i] + eyeHeight[i]; }
+    public float eyeHeight(int i)     { return eyeHeight[i]; }
+    public float health(int i)        { return health[i]; }
+    public float maxHealth(int i)     { return maxHealth[i]; }
+    public double distanceSq(int i)   { return distanceSq[i]; }
+    public double score(int i)        { return score[i]; }
+    public void setScore(int i, double v) { score[i] = v; }
+    public float visibility(int i)    { return visibility[i]; }
+    public void setVisibility(int i, float v) { visibility[i] = v; }
+    public LivingEntity entity(int i) { return entities[i]; }
+
+    public float healthPercent(int i) {
+        return maxHealth[i] > 0f ? health[i] / maxHealth[i] : 0f;
+    }
+
+    public List<Entity> toEntityList() {
+        List<Entity> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(entities[i]);
+        return out;
+    }
+
+    private void grow() {
+        int cap = ids.length * 2;
+        ids        = Arrays.copyOf(ids, cap);
+        x          = Arrays.copyOf(x, cap);
+        y          = Arrays.copyOf(y, cap);
+        z          = Arrays.copyOf(z, cap);
+        eyeHeight  = Arrays.copyOf(eyeHeight, cap);
+        health     = Arrays.copyOf(health, cap);
+        maxHealth  = Arrays.copyOf(maxHealth, cap);
+        distanceSq = Arrays.copyOf(distanceSq, cap);
+        score      = Arrays.copyOf(score, cap);
+        visibility = Arrays.copyOf(visibility, cap);
+        entities   = Arrays.copyOf(entities, cap);
+        at         = new int[cap];
+        where      = new int[cap];
+        order      = new int[cap];
+    }
+}
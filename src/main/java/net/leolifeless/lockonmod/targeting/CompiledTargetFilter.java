@@ -0,0 +1,105 @@
+package net.leolifeless.lockonmod.targeting;
+
+import net.leolifeless.lockonmod.LockOnConfigSnapshot;
+import net.minecraft.core.Registry;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Target filter compiled from a {@link LockOnConfigSnapshot} once per config load.
+ *
+ * The per-type part of the filter (player/hostile/passive/boss toggles and the entity
+ * black/whitelist) is folded into a dense verdict table indexed by EntityType registry id,
+ * so checking an entity costs one array lookup plus the health range test. Types that were
+ * not registered yet when the config loaded, or whose class we have not seen, are resolved
+ * the first time an entity of that type is checked and then cached in the table.
+ */
+public class CompiledTargetFilter {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOW   = 1;
+    private static final byte DENY    = 2;
+
+    private final long configVersion;
+    private final boolean canTargetPlayers;
+    private final boolean canTargetHostileMobs;
+    private final boolean canTargetPassiveMobs;
+    private final boolean canTargetBosses;
+    private final float minHealth;
+    private final float maxHealth;
+    private final boolean useWhitelist;
+    private final Set<String> listedIds;
+
+    private byte[] verdicts;
+
+    private CompiledTargetFilter(LockOnConfigSnapshot config) {
+        configVersion        = config.version();
+        canTargetPlayers     = config.canTargetPlayers();
+        canTargetHostileMobs = config.canTargetHostileMobs();
+        canTargetPassiveMobs = config.canTargetPassiveMobs();
+        canTargetBosses      = config.canTargetBosses();
+        minHealth            = (float) config.minTargetHealth();
+        maxHealth            = (float) config.maxTargetHealth();
+        useWhitelist         = config.useWhitelist();
+        listedIds            = new HashSet<>(useWhitelist
+                ? config.entityWhitelist() : config.entityBlacklist());
+
+        // Types rejected by the list alone are known up front; the rest wait for their class
+        verdicts = new byte[Math.max(64, Registry.ENTITY_TYPE.size())];
+        for (EntityType<?> type : Registry.ENTITY_TYPE) {
+            int id = Registry.ENTITY_TYPE.getId(type);
+            if (id >= 0 && id < verdicts.length && !listAllows(type)) verdicts[id] = DENY;
+        }
+    }
+
+    public static CompiledTargetFilter compile(LockOnConfigSnapshot config) {
+        return new CompiledTargetFilter(config);
+    }
+
+    public long configVersion() {
+        return configVersion;
+    }
+
+    /**
+     * Type and health test for an entity that is already known to be alive and not the player.
+     */
+    public boolean test(LivingEntity entity) {
+        EntityType<?> type = entity.getType();
+        int id = Registry.ENTITY_TYPE.getId(type);
+
+        byte verdict = id >= 0 && id < verdicts.length ? verdicts[id] : UNKNOWN;
+        if (verdict == UNKNOWN) verdict = resolve(entity, type, id);
+        if (verdict == DENY) return false;
+
+        float health = entity.getHealth();
+        if (health < minHealth) return false;
+        return maxHealth <= 0 || health <= maxHealth;
+    }
+
+    private byte resolve(LivingEntity entity, EntityType<?> type, int id) {
+        byte verdict = categoryAllows(entity) && listAllows(type) ? ALLOW : DENY;
+        if (id >= 0) {
+            if (id >= verdicts.length) verdicts = Arrays.copyOf(verdicts, Math.max(id + 1, verdicts.length * 2));
+            verdicts[id] = verdict;
+        }
+        return verdict;
+    }
+
+    private boolean categoryAllows(LivingEntity entity) {
+        int mask = EntityClassification.classify(entity);
+        if (EntityClassification.is(mask, EntityClassification.PLAYER)  && !canTargetPlayers)     return false;
+        if (EntityClassification.is(mask, EntityClassification.HOSTILE) && !canTargetHostileMobs) return false;
+        if (EntityClassification.is(mask, EntityClassification.PASSIVE) && !canTargetPassiveMobs) return false;
+        if (EntityClassification.is(mask, EntityClassification.BOSS)    && !canTargetBosses)      return false;
+        return true;
+    }
+
+    private boolean listAllows(EntityType<?> type) {
+        boolean listed = listedIds.contains(EntityClassification.typeId(type));
+        return useWhitelist == listed;
+    }
+}
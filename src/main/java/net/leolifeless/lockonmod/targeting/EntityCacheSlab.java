@@ -0,0 +1,139 @@
+package net.leolifeless.lockonmod.targeting;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * Open-addressing cache of per-entity targeting state, keyed by entity id.
+ *
+ * Holds only primitives, so it never keeps an {@link net.minecraft.world.entity.Entity}
+ * alive. Every entry carries the generation it was last written in. Advancing the
+ * generation retires every entry that was not written in the last two generations, and
+ * {@link #clear()} retires all of them, both without touching the table. Retired slots are
+ * reused on insert and dropped when the table is rehashed.
+ */
+public class EntityCacheSlab {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final float MAX_LOAD = 0.6f;
+
+    private int[]     keys;
+    private int[]     generations; // 0 = slot never used
+    private long[]    validatedAt;
+    private boolean[] valid;
+    private int mask;
+    private int used = 0;
+    private int generation = 2;
+
+    public EntityCacheSlab() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Cached validity of {@code entityId} if it was checked within {@code maxAgeMs} of
+     * {@code now}: 1 for valid, 0 for invalid, -1 if there is no usable entry.
+     */
+    public int getValidity(int entityId, long now, long maxAgeMs) {
+        int slot = find(entityId);
+        if (slot < 0 || now - validatedAt[slot] > maxAgeMs) return -1;
+        return valid[slot] ? 1 : 0;
+    }
+
+    public void putValidity(int entityId, boolean isValid, long now) {
+        int slot = findOrInsert(entityId);
+        validatedAt[slot] = now;
+        valid[slot] = isValid;
+    }
+
+    /**
+     * Retires every entry not written since the previous call. O(1).
+     */
+    public void advanceGeneration() {
+        generation++;
+    }
+
+    /**
+     * Retires every entry. O(1).
+     */
+    public void clear() {
+        generation += 2;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    // =========================================================
+    //  TABLE
+    // =========================================================
+
+    private boolean isLive(int slot) {
+        return generations[slot] >= generation - 1;
+    }
+
+    private int find(int key) {
+        for (int slot = hash(key) & mask; generations[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return isLive(slot) ? slot : -1;
+        }
+        return -1;
+    }
+
+    private int findOrInsert(int key) {
+        int reusable = -1;
+        int slot = hash(key) & mask;
+        for (; generations[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                generations[slot] = generation;
+                return slot;
+            }
+            if (reusable < 0 && !isLive(slot)) reusable = slot;
+        }
+
+        if (reusable >= 0) {
+            slot = reusable;
+        } else {
+            if (used + 1 > keys.length * MAX_LOAD) {
+                rehash();
+                return findOrInsert(key);
+            }
+            used++;
+        }
+        keys[slot] = key;
+        generations[slot] = generation;
+        return slot;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys, oldGenerations = generations;
+        long[] oldValidatedAt = validatedAt;
+        boolean[] oldValid = valid;
+
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) if (oldGenerations[i] >= generation - 1) live++;
+        // Grow only when the live entries alone would use more than half the load limit
+        allocate(live * 2 > oldKeys.length * MAX_LOAD ? oldKeys.length * 2 : oldKeys.length);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldGenerations[i] < generation - 1) continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (generations[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            generations[slot] = oldGenerations[i];
+            validatedAt[slot] = oldValidatedAt[i];
+            valid[slot] = oldValid[i];
+            used++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys        = new int[capacity];
+        generations = new int[capacity];
+        validatedAt = new long[capacity];
+        valid       = new boolean[capacity];
+        mask = capacity - 1;
+        used = 0;
+    }
+
+    private static int hash(int key) {
+        return HashCommon.mix(key);
+    }
+}
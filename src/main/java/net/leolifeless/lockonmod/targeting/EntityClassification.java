@@ -0,0 +1,116 @@
+package net.leolifeless.lockonmod.targeting;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.Registry;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.animal.Animal;
+import net.minecraft.world.entity.boss.enderdragon.EnderDragon;
+import net.minecraft.world.entity.boss.wither.WitherBoss;
+import net.minecraft.world.entity.monster.Monster;
+import net.minecraft.world.entity.player.Player;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Per-EntityType classification table used by filtering and scoring.
+ *
+ * Registry id strings are built once for every registered type at client setup. The
+ * category bitmask is derived from the entity class through a {@link ClassValue}, which
+ * also covers modded subclasses and types registered late, and is then stored in a dense
+ * table indexed by registry id. After the first entity of a type has been seen, classifying
+ * another one is a single array read.
+ */
+public class EntityClassification {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final int PLAYER  = 1;
+    public static final int HOSTILE = 1 << 1;
+    public static final int PASSIVE = 1 << 2;
+    public static final int BOSS    = 1 << 3;
+
+    // Set on table entries that have been resolved, so 0 can still mean "no category"
+    private static final int KNOWN = 1 << 31;
+
+    private static final ClassValue<Integer> BY_CLASS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            int mask = 0;
+            if (Player.class.isAssignableFrom(type))  mask |= PLAYER;
+            if (Monster.class.isAssignableFrom(type)) mask |= HOSTILE;
+            if (Animal.class.isAssignableFrom(type))  mask |= PASSIVE;
+            if (WitherBoss.class.isAssignableFrom(type) || EnderDragon.class.isAssignableFrom(type))
+                mask |= BOSS;
+            return mask;
+        }
+    };
+
+    private static int[]    masks   = new int[0];
+    private static String[] typeIds = new String[0];
+
+    public static void initialize() {
+        int size = Registry.ENTITY_TYPE.size();
+        masks   = new int[size];
+        typeIds = new String[size];
+        for (EntityType<?> type : Registry.ENTITY_TYPE) {
+            int id = Registry.ENTITY_TYPE.getId(type);
+            if (id >= 0 && id < size) typeIds[id] = EntityType.getKey(type).toString();
+        }
+        LOGGER.info("Entity classification table built for {} entity types", size);
+    }
+
+    /**
+     * Category bitmask of {@code entity}, a combination of {@link #PLAYER}, {@link #HOSTILE},
+     * {@link #PASSIVE} and {@link #BOSS}.
+     */
+    public static int classify(Entity entity) {
+        int id = Registry.ENTITY_TYPE.getId(entity.getType());
+        if (id >= 0 && id < masks.length) {
+            int cached = masks[id];
+            if (cached != 0) return cached & ~KNOWN;
+        }
+
+        int mask = BY_CLASS.get(entity.getClass());
+        if (id >= 0) {
+            if (id >= masks.length) grow(id + 1);
+            masks[id] = mask | KNOWN;
+        }
+        return mask;
+    }
+
+    /**
+     * Registry id string of {@code type}, e.g. {@code minecraft:zombie}, without rebuilding it per call.
+     */
+    public static String typeId(EntityType<?> type) {
+        int id = Registry.ENTITY_TYPE.getId(type);
+        if (id >= 0 && id < typeIds.length && typeIds[id] != null) return typeIds[id];
+
+        String key = EntityType.getKey(type).toString();
+        if (id >= 0) {
+            if (id >= typeIds.length) grow(id + 1);
+            typeIds[id] = key;
+        }
+        return key;
+    }
+
+    public static boolean is(int mask, int category) {
+        return (mask & category) != 0;
+    }
+
+    /**
+     * Static threat rank by category: hostile 3, player 2, passive 1, anything else 0.
+     */
+    public static double threatLevel(int mask) {
+        if ((mask & HOSTILE) != 0) return 3.0;
+        if ((mask & PLAYER) != 0)  return 2.0;
+        if ((mask & PASSIVE) != 0) return 1.0;
+        return 0.0;
+    }
+
+    private static void grow(int minSize) {
+        int size = Math.max(minSize, masks.length * 2);
+        masks   = Arrays.copyOf(masks, size);
+        typeIds = Arrays.copyOf(typeIds, size);
+    }
+}
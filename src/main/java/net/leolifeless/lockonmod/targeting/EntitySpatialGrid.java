@@ -0,0 +1,174 @@
+package net.leolifeless.lockonmod.targeting;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.leolifeless.lockonmod.LockOnMod;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Client-side uniform spatial hash of lockable {@link LivingEntity} candidates.
+ *
+ * Entities are bucketed into 16x16 block columns (chunk aligned) when they join the
+ * client level and removed when they leave. {@link #tick(ClientLevel)} moves entities
+ * whose column changed since the last tick, so a lock-on query only has to walk the
+ * few columns overlapping the search box instead of every entity section in range.
+ *
+ * Entities are bucketed by their center, so a query pads its columns by the largest
+ * half-width currently tracked; a wide mob centered next door can still reach into the box.
+ */
+@Mod.EventBusSubscriber(modid = LockOnMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class EntitySpatialGrid {
+
+    private static final int CELL_SHIFT = 4; // 16 block cells
+
+    private static final Long2ObjectOpenHashMap<List<LivingEntity>> cells = new Long2ObjectOpenHashMap<>();
+    private static final Int2ObjectOpenHashMap<LivingEntity> tracked = new Int2ObjectOpenHashMap<>();
+    private static final Int2LongOpenHashMap cellOf = new Int2LongOpenHashMap();
+    private static double maxHalfWidth = 0.0;
+
+    // =========================================================
+    //  EVENTS
+    // =========================================================
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (!event.getLevel().isClientSide()) return;
+        if (event.getEntity() instanceof LivingEntity living) add(living);
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!event.getLevel().isClientSide()) return;
+        if (event.getEntity() instanceof LivingEntity living) remove(living);
+    }
+
+    // =========================================================
+    //  MAINTENANCE
+    // =========================================================
+
+    /**
+     * Re-buckets entities that crossed a cell boundary and drops entities that were
+     * removed or belong to a different level without a leave event reaching us.
+     */
+    public static void tick(ClientLevel level) {
+        double widest = 0.0;
+        Iterator<LivingEntity> it = tracked.values().iterator();
+        while (it.hasNext()) {
+            LivingEntity entity = it.next();
+            int id = entity.getId();
+            long oldKey = cellOf.get(id);
+
+            if (entity.isRemoved() || entity.level != level) {
+                removeFromCell(oldKey, entity);
+                cellOf.remove(id);
+                it.remove();
+                continue;
+            }
+
+            long newKey = cellKey(entity.getX(), entity.getZ());
+            if (newKey != oldKey) {
+                removeFromCell(oldKey, entity);
+                cells.computeIfAbsent(newKey, k -> new ArrayList<>()).add(entity);
+                cellOf.put(id, newKey);
+            }
+            widest = Math.max(widest, entity.getBbWidth() * 0.5);
+        }
+        maxHalfWidth = widest;
+    }
+
+    public static void clear() {
+        cells.clear();
+        tracked.clear();
+        cellOf.clear();
+        maxHalfWidth = 0.0;
+    }
+
+    private static void add(LivingEntity entity) {
+        int id = entity.getId();
+        LivingEntity previous = tracked.put(id, entity);
+        if (previous != null) removeFromCell(cellOf.get(id), previous);
+
+        long key = cellKey(entity.getX(), entity.getZ());
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+        cellOf.put(id, key);
+        maxHalfWidth = Math.max(maxHalfWidth, entity.getBbWidth() * 0.5);
+    }
+
+    private static void remove(LivingEntity entity) {
+        int id = entity.getId();
+        if (tracked.get(id) != entity) return;
+        tracked.remove(id);
+        removeFromCell(cellOf.remove(id), entity);
+    }
+
+    private static void removeFromCell(long key, LivingEntity entity) {
+        List<LivingEntity> cell = cells.get(key);
+        if (cell == null) return;
+        int idx = cell.indexOf(entity);
+        if (idx < 0) return;
+        // Swap-remove, cell order carries no meaning
+        int last = cell.size() - 1;
+        cell.set(idx, cell.get(last));
+        cell.remove(last);
+        if (cell.isEmpty()) cells.remove(key);
+    }
+
+    // =========================================================
+    //  QUERIES
+    // =========================================================
+
+    /**
+     * Appends every tracked entity whose bounding box intersects {@code box} to {@code out},
+     * skipping {@code except}. Mirrors {@link Level#getEntities(Entity, AABB)} for living entities.
+     */
+    public static void collect(Level level, AABB box, Entity except, List<LivingEntity> out) {
+        double pad = maxHalfWidth;
+        int minX = Mth.floor(box.minX - pad) >> CELL_SHIFT;
+        int maxX = Mth.floor(box.maxX + pad) >> CELL_SHIFT;
+        int minZ = Mth.floor(box.minZ - pad) >> CELL_SHIFT;
+        int maxZ = Mth.floor(box.maxZ + pad) >> CELL_SHIFT;
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                List<LivingEntity> cell = cells.get(pack(cx, cz));
+                if (cell == null) continue;
+                for (int i = 0, n = cell.size(); i < n; i++) {
+                    LivingEntity entity = cell.get(i);
+                    if (entity == except || entity.level != level || entity.isRemoved()) continue;
+                    if (entity.getBoundingBox().intersects(box)) out.add(entity);
+                }
+            }
+        }
+    }
+
+    public static int size() {
+        return tracked.size();
+    }
+
+    public static int cellCount() {
+        return cells.size();
+    }
+
+    private static long cellKey(double x, double z) {
+        return pack(Mth.floor(x) >> CELL_SHIFT, Mth.floor(z) >> CELL_SHIFT);
+    }
+
+    private static long pack(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,290 @@
+package net.leolifeless.lockonmod.targeting;
+
+import com.mojang.logging.LogUtils;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.leolifeless.lockonmod.LockOnMod;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundTeleportEntityPacket;
+import net.minecraft.network.protocol.game.VecDeltaCodec;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.slf4j.Logger;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * When position updates from the server actually arrive for the locked target and the current
+ * candidates, and how regular they are.
+ *
+ * Neither the entity's position nor its {@code VecDeltaCodec} base says whether a packet
+ * arrived: interpolation keeps the position moving after updates stop, and a zero-delta move,
+ * such as the resync vanilla sends a standing entity, leaves the base untouched. So a handler in
+ * the connection's pipeline passes every positioned move and teleport packet to the client
+ * thread, and each one counts as an arrival. Per entity the tracker keeps an EWMA of the
+ * interval between arrivals and of its mean deviation (the jitter), using the smoothed RTT
+ * gains from RFC 6298, and the velocity between the last two arrivals.
+ *
+ * The client thread applies a packet to its entity only at its next task run, which may come
+ * after the tick that drained it, so positions are decoded from the packets themselves: move
+ * deltas through a {@code VecDeltaCodec} of our own, seeded from the entity's when it is first
+ * observed, and teleports as absolute positions.
+ *
+ * A silent target only means trouble while the rest of the connection is also silent. If other
+ * packets keep arriving, the server is simply not moving it, so it is neither dead-reckoned nor
+ * dropped; a standing entity is still resent at least every {@link #RESYNC_TICKS} ticks, and
+ * only missing that, plus a margin scaled by its jitter, loses it.
+ */
+@Mod.EventBusSubscriber(modid = LockOnMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class PositionUpdateTracker {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final String HANDLER_NAME = LockOnMod.MOD_ID + ":position_updates";
+    private static final String VANILLA_HANDLER = "packet_handler";
+
+    private static final int RESYNC_TICKS = 60;
+    private static final double INTERVAL_GAIN = 0.125;
+    private static final double JITTER_GAIN = 0.25;
+    private static final double STALE_DEVIATIONS = 4.0;
+    private static final double LOST_DEVIATIONS = 8.0;
+    private static final int MIN_LOST_MARGIN_TICKS = 20;
+    private static final double MAX_DEAD_RECKON_TICKS = 10.0;
+    private static final int FORGET_AFTER_TICKS = 200;
+    private static final int PRUNE_INTERVAL = 100;
+    private static final int MAX_QUEUED = 4096;
+
+    private static final Int2ObjectOpenHashMap<Track> tracks = new Int2ObjectOpenHashMap<>();
+    private static long now = 0;
+    private static long lastPrune = 0;
+    private static long lastPacket = 0;
+
+    // Written by the netty thread, drained by the client thread
+    private static final Queue<Object> arrivals = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static volatile boolean installed = false;
+    private static volatile boolean tracking = false;
+    private static volatile boolean packetSeen = false;
+
+    private PositionUpdateTracker() {}
+
+    // === CONNECTION ===
+
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        ChannelPipeline pipeline = event.getConnection().channel().pipeline();
+        try {
+            if (pipeline.get(HANDLER_NAME) == null) pipeline.addBefore(VANILLA_HANDLER, HANDLER_NAME, new ArrivalHandler());
+            installed = true;
+        } catch (RuntimeException e) {
+            // Without arrivals nothing is ever reported stale or lost, the pre-tracker behavior
+            installed = false;
+            LOGGER.warn("Could not watch position updates, lagging targets will not be detected", e);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        installed = false;
+        tracking = false;
+        drop();
+    }
+
+    private static final class ArrivalHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            packetSeen = true;
+            if (tracking && isPositionUpdate(msg) && queued.get() < MAX_QUEUED) {
+                queued.incrementAndGet();
+                arrivals.offer(msg);
+            }
+            super.channelRead(ctx, msg);
+        }
+
+        private static boolean isPositionUpdate(Object msg) {
+            return msg instanceof ClientboundMoveEntityPacket move ? move.hasPosition()
+                    : msg instanceof ClientboundTeleportEntityPacket;
+        }
+    }
+
+    // === TICK ===
+
+    /**
+     * Advances the clock and records the arrivals since the last tick. Call once per client tick
+     * before any {@link #observe}.
+     */
+    public static void tick(ClientLevel level, long gameTime) {
+        now = gameTime;
+
+        Object packet;
+        while ((packet = arrivals.poll()) != null) {
+            queued.decrementAndGet();
+            if (packet instanceof ClientboundTeleportEntityPacket teleport) {
+                Track track = tracks.get(teleport.getId());
+                if (track != null) arrive(track, new Vec3(teleport.getX(), teleport.getY(), teleport.getZ()));
+            } else {
+                ClientboundMoveEntityPacket move = (ClientboundMoveEntityPacket) packet;
+                Entity entity = move.getEntity(level);
+                Track track = entity == null ? null : tracks.get(entity.getId());
+                if (track != null) arrive(track, track.codec.decode(move.getXa(), move.getYa(), move.getZa()));
+            }
+        }
+        // After draining, so a packet queued meanwhile never predates its own arrival
+        if (packetSeen) {
+            packetSeen = false;
+            lastPacket = now;
+        }
+
+        if (gameTime - lastPrune >= PRUNE_INTERVAL) {
+            lastPrune = gameTime;
+            Iterator<Int2ObjectMap.Entry<Track>> it = tracks.int2ObjectEntrySet().fastIterator();
+            while (it.hasNext()) {
+                if (now - it.next().getValue().lastSeen > FORGET_AFTER_TICKS) it.remove();
+            }
+        }
+        tracking = installed && !tracks.isEmpty();
+    }
+
+    /**
+     * Keeps {@code entity} tracked. Call every tick for each entity whose updates matter; one
+     * not observed for a while is forgotten.
+     */
+    public static void observe(Entity entity) {
+        Track track = tracks.get(entity.getId());
+        if (track == null) {
+            // First sighting, the last packet's age is unknown
+            track = new Track();
+            track.position = track.from = entity.getPositionCodec().decode(0L, 0L, 0L);
+            track.codec.setBase(track.position);
+            track.arrival = now;
+            tracks.put(entity.getId(), track);
+            tracking = installed;
+        }
+        track.lastSeen = now;
+    }
+
+    private static void arrive(Track track, Vec3 position) {
+        long interval = now - track.arrival;
+        if (interval > 0) track.from = track.position;
+        track.position = position;
+        track.codec.setBase(position);
+
+        if (interval <= 0) {
+            // Another packet in the same tick, it only moves the end of the last interval
+            if (track.samples > 0) setVelocity(track, track.lastInterval);
+            return;
+        }
+        track.arrival = now;
+        track.lastInterval = interval;
+
+        if (track.samples == 0) {
+            track.interval = interval;
+            track.jitter = interval / 2.0;
+        } else {
+            track.jitter += JITTER_GAIN * (Math.abs(track.interval - interval) - track.jitter);
+            track.interval += INTERVAL_GAIN * (interval - track.interval);
+        }
+        track.samples++;
+        setVelocity(track, interval);
+    }
+
+    // Zero for a resync of a standing entity
+    private static void setVelocity(Track track, long interval) {
+        track.vx = (track.position.x - track.from.x) / interval;
+        track.vy = (track.position.y - track.from.y) / interval;
+        track.vz = (track.position.z - track.from.z) / interval;
+    }
+
+    // === QUERIES ===
+
+    /**
+     * Ticks since the last update for {@code entityId}, or -1 if it is not tracked.
+     */
+    public static long ticksSinceUpdate(int entityId) {
+        Track track = tracks.get(entityId);
+        return track == null ? -1 : now - track.arrival;
+    }
+
+    /**
+     * True once an update for {@code entityId} is clearly overdue for its measured rate and
+     * nothing else has arrived from the server since, so the gap is the network's.
+     */
+    public static boolean isStale(int entityId) {
+        Track track = measured(entityId);
+        if (track == null || lastPacket > track.arrival) return false;
+        return now - track.arrival > track.interval + STALE_DEVIATIONS * track.jitter;
+    }
+
+    /**
+     * True once no update for {@code entityId} has arrived for longer than even a standing
+     * entity's resync allows while other packets kept arriving. A connection that went silent
+     * as a whole holds on to the target instead.
+     */
+    public static boolean isLost(int entityId) {
+        Track track = measured(entityId);
+        if (track == null || lastPacket <= track.arrival) return false;
+        double margin = Math.max(MIN_LOST_MARGIN_TICKS, LOST_DEVIATIONS * track.jitter);
+        return now - track.arrival > Math.max(RESYNC_TICKS, track.interval) + margin;
+    }
+
+    /**
+     * {@code position} advanced along the last measured velocity of {@code entity} for the time
+     * its next update is overdue, at most {@link #MAX_DEAD_RECKON_TICKS}.
+     */
+    public static Vec3 deadReckon(Entity entity, Vec3 position, float partialTick) {
+        Track track = measured(entity.getId());
+        if (track == null) return position;
+        double overdue = now - track.arrival + partialTick - track.interval;
+        if (overdue <= 0.0) return position;
+        double t = Math.min(overdue, MAX_DEAD_RECKON_TICKS);
+        return position.add(track.vx * t, track.vy * t, track.vz * t);
+    }
+
+    private static Track measured(int entityId) {
+        if (!installed) return null;
+        Track track = tracks.get(entityId);
+        return track == null || track.samples == 0 ? null : track;
+    }
+
+    public static int trackedCount() {
+        return tracks.size();
+    }
+
+    /**
+     * Forgets every entity. The pipeline handler stays, it belongs to the connection.
+     */
+    public static void clear() {
+        tracks.clear();
+        tracking = false;
+        drop();
+        now = 0;
+        lastPrune = 0;
+        lastPacket = 0;
+    }
+
+    private static void drop() {
+        while (arrivals.poll() != null) queued.decrementAndGet();
+    }
+
+    private static final class Track {
+        final VecDeltaCodec codec = new VecDeltaCodec();
+        Vec3 position;           // as of the latest packet
+        Vec3 from;               // as of the last packet before this interval
+        long arrival;
+        long lastInterval;
+        long lastSeen;
+        int samples;
+        double interval, jitter; // ticks
+        double vx, vy, vz;       // blocks per tick
+    }
+}
@@ -0,0 +1,51 @@
+package net.leolifeless.lockonmod.targeting;
+
+/**
+ * Bulk float kernels used by target scoring.
+ *
+ * The loops run over plain float columns with no calls or branches in the weighted sum, so
+ * HotSpot's superword pass can vectorise them without the incubating Vector API. Angles use a
+ * polynomial acos (Abramowitz and Stegun 4.4.45, error below 7e-5 rad).
+ */
+public final class ScoringKernel {
+
+    static final float ACOS_A0 =  1.5707288f;
+    static final float ACOS_A1 = -0.2121144f;
+    static final float ACOS_A2 =  0.0742610f;
+    static final float ACOS_A3 = -0.0187293f;
+    static final float PI = (float) Math.PI;
+
+    private ScoringKernel() {}
+
+    /**
+     * {@code out[i] = sum over k < terms of columns[k][i] * weights[k]}, for {@code i < n}.
+     */
+    public static void weightedSum(float[][] columns, float[] weights, int terms, int n, float[] out) {
+        for (int i = 0; i < n; i++) {
+            float sum = 0f;
+            for (int k = 0; k < terms; k++) sum += columns[k][i] * weights[k];
+            out[i] = sum;
+        }
+    }
+
+    /**
+     * Angle in radians between the unit look vector and each offset {@code (dx, dy, dz)}.
+     * A zero offset counts as straight ahead.
+     */
+    public static void crosshairAngles(float[] dx, float[] dy, float[] dz, int n,
+                                       float lookX, float lookY, float lookZ, float[] out) {
+        for (int i = 0; i < n; i++) {
+            float lenSq = dx[i] * dx[i] + dy[i] * dy[i] + dz[i] * dz[i];
+            float cos = lenSq > 0f
+                    ? (lookX * dx[i] + lookY * dy[i] + lookZ * dz[i]) / (float) Math.sqrt(lenSq)
+                    : 1f;
+            out[i] = acos(Math.max(-1f, Math.min(1f, cos)));
+        }
+    }
+
+    static float acos(float x) {
+        float a = Math.abs(x);
+        float r = (((ACOS_A3 * a + ACOS_A2) * a + ACOS_A1) * a + ACOS_A0) * (float) Math.sqrt(1f - a);
+        return x < 0f ? PI - r : r;
+    }
+}
@@ -0,0 +1,18 @@
+package net.leolifeless.lockonmod.targeting;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Viewer state shared by every {@link TargetScorer} in one ranking pass.
+ */
+public record ScoringView(Entity viewer,
+                          double eyeX, double eyeY, double eyeZ,
+                          float lookX, float lookY, float lookZ) {
+
+    public static ScoringView of(Entity viewer) {
+        Vec3 look = viewer.getLookAngle();
+        return new ScoringView(viewer, viewer.getX(), viewer.getEyeY(), viewer.getZ(),
+                (float) look.x, (float) look.y, (float) look.z);
+    }
+}
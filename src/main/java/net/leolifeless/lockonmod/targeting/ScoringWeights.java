@@ -0,0 +1,78 @@
+package net.leolifeless.lockonmod.targeting;
+
+import com.mojang.logging.LogUtils;
+import net.leolifeless.lockonmod.LockOnConfig;
+import net.leolifeless.lockonmod.LockOnConfigSnapshot;
+import net.minecraft.resources.ResourceLocation;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A targeting mode as a weight vector over {@link TargetScorers}. A candidate's score is the
+ * weighted sum of its scorer features; lower is better.
+ */
+public record ScoringWeights(List<Term> terms) {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    // Smart mode terms that are not configurable
+    private static final float SMART_THREAT_WEIGHT = 0.1f;
+    // Penalty for a target that is only partly visible, scaled by the hidden fraction
+    private static final float SMART_HIDDEN_WEIGHT = 0.5f;
+
+    public record Term(ResourceLocation scorer, float weight) {}
+
+    public ScoringWeights {
+        terms = List.copyOf(terms);
+    }
+
+    public static ScoringWeights of(Object... scorerWeightPairs) {
+        List<Term> terms = new ArrayList<>(scorerWeightPairs.length / 2);
+        for (int i = 0; i + 1 < scorerWeightPairs.length; i += 2) {
+            terms.add(new Term((ResourceLocation) scorerWeightPairs[i], ((Number) scorerWeightPairs[i + 1]).floatValue()));
+        }
+        return new ScoringWeights(terms);
+    }
+
+    /**
+     * Weights for a targeting mode under the given config.
+     */
+    public static ScoringWeights forMode(LockOnConfig.TargetingMode mode, LockOnConfigSnapshot config) {
+        return switch (mode) {
+            case CLOSEST            -> of(TargetScorers.DISTANCE, 1f);
+            case MOST_DAMAGED       -> of(TargetScorers.HEALTH, 1f);
+            case CROSSHAIR_CENTERED -> of(TargetScorers.ANGLE, 1f);
+            case THREAT_LEVEL       -> of(TargetScorers.THREAT, 1f);
+            case SMART -> of(
+                    TargetScorers.DISTANCE,       config.distancePriorityWeight(),
+                    TargetScorers.ANGLE,          config.anglePriorityWeight(),
+                    TargetScorers.MISSING_HEALTH, config.healthPriorityWeight(),
+                    TargetScorers.THREAT,         SMART_THREAT_WEIGHT,
+                    TargetScorers.HIDDEN,         SMART_HIDDEN_WEIGHT);
+            case CUSTOM -> parse(config.customScoringWeights());
+        };
+    }
+
+    /**
+     * Parses {@code "scorer_id=weight"} entries, skipping (and logging) malformed ones.
+     */
+    public static ScoringWeights parse(List<String> entries) {
+        List<Term> terms = new ArrayList<>(entries.size());
+        for (String entry : entries) {
+            int eq = entry.indexOf('=');
+            ResourceLocation id = eq > 0 ? ResourceLocation.tryParse(entry.substring(0, eq).trim()) : null;
+            if (id == null) {
+                LOGGER.warn("Ignoring scoring weight '{}', expected scorer_id=weight", entry);
+                continue;
+            }
+            try {
+                terms.add(new Term(id, Float.parseFloat(entry.substring(eq + 1).trim())));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring scoring weight '{}', '{}' is not a number", entry, entry.substring(eq + 1));
+            }
+        }
+        return new ScoringWeights(terms);
+    }
+}
@@ -0,0 +1,86 @@
+package net.leolifeless.lockonmod.targeting;
+
+import com.mojang.logging.LogUtils;
+import net.leolifeless.lockonmod.LockOnConfig;
+import net.leolifeless.lockonmod.LockOnConfigSnapshot;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Scores a {@link CandidateBuffer} for a targeting mode.
+ *
+ * The mode's {@link ScoringWeights} are resolved against {@link TargetScorers} once per
+ * mode, config or registry change, dropping zero weights and unknown scorers. Ranking then
+ * lets each weighted scorer fill its column and sums the columns in a single pass, however
+ * many criteria the mode uses.
+ */
+public class TargetRanker {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private LockOnConfig.TargetingMode resolvedMode = null;
+    private long resolvedConfigVersion = -1;
+    private int resolvedRegistryVersion = -1;
+
+    private TargetScorer[] scorers = new TargetScorer[0];
+    private float[] weights = new float[0];
+    private int terms = 0;
+
+    private float[][] columns = new float[0][];
+    private float[] scores = new float[INITIAL_CAPACITY];
+
+    /**
+     * Replaces every score in {@code buf} with its score under {@code mode}.
+     */
+    public void rank(CandidateBuffer buf, ScoringView view, LockOnConfig.TargetingMode mode,
+                     LockOnConfigSnapshot config) {
+        resolve(mode, config);
+        int n = buf.size();
+        ensureCapacity(n);
+
+        for (int k = 0; k < terms; k++) scorers[k].score(buf, view, columns[k]);
+        ScoringKernel.weightedSum(columns, weights, terms, n, scores);
+        for (int i = 0; i < n; i++) buf.setScore(i, scores[i]);
+    }
+
+    private void resolve(LockOnConfig.TargetingMode mode, LockOnConfigSnapshot config) {
+        int registryVersion = TargetScorers.version();
+        if (mode == resolvedMode && config.version() == resolvedConfigVersion
+                && registryVersion == resolvedRegistryVersion) return;
+
+        ScoringWeights resolved = ScoringWeights.forMode(mode, config);
+        scorers = new TargetScorer[resolved.terms().size()];
+        weights = new float[scorers.length];
+        terms = 0;
+        for (ScoringWeights.Term term : resolved.terms()) {
+            if (term.weight() == 0f) continue;
+            TargetScorer scorer = TargetScorers.get(term.scorer());
+            if (scorer == null) {
+                LOGGER.warn("Unknown target scorer {} in {} mode, ignoring it", term.scorer(), mode);
+                continue;
+            }
+            scorers[terms] = scorer;
+            weights[terms] = term.weight();
+            terms++;
+        }
+
+        if (columns.length < terms) {
+            float[][] grown = Arrays.copyOf(columns, terms);
+            for (int k = columns.length; k < terms; k++) grown[k] = new float[scores.length];
+            columns = grown;
+        }
+
+        resolvedMode = mode;
+        resolvedConfigVersion = config.version();
+        resolvedRegistryVersion = registryVersion;
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= scores.length) return;
+        int cap = Math.max(n, scores.length * 2);
+        scores = new float[cap];
+        for (int k = 0; k < columns.length; k++) columns[k] = new float[cap];
+    }
+}
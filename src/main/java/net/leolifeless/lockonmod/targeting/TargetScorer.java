@@ -0,0 +1,18 @@
+package net.leolifeless.lockonmod.targeting;
+
+/**
+ * One ranking criterion, registered with {@link TargetScorers} and weighted by
+ * {@link ScoringWeights}.
+ *
+ * A scorer writes a single feature per candidate into its column, where lower means a
+ * better target. The ranker sums the weighted columns in one pass, so a scorer should fill
+ * its whole column in one plain loop and must not reorder or resize the buffer.
+ */
+@FunctionalInterface
+public interface TargetScorer {
+
+    /**
+     * Writes this scorer's feature for candidates {@code 0 .. buf.size()} into {@code out}.
+     */
+    void score(CandidateBuffer buf, ScoringView view, float[] out);
+}
@@ -0,0 +1,115 @@
+package net.leolifeless.lockonmod.targeting;
+
+import net.leolifeless.lockonmod.LockOnMod;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of {@link TargetScorer}s by id.
+ *
+ * Other mods register their scorers during setup and reference them from a custom
+ * targeting mode by id; registering after that is allowed too. Every change bumps
+ * {@link #version()} so rankers re-resolve their weights.
+ */
+public final class TargetScorers {
+
+    // === BUILT-IN SCORERS (lower is better) ===
+    /** Distance to the candidate in blocks. */
+    public static final ResourceLocation DISTANCE       = id("distance");
+    /** Angle between the crosshair and the candidate's eyes in radians. */
+    public static final ResourceLocation ANGLE          = id("angle");
+    /** Current health in hit points. */
+    public static final ResourceLocation HEALTH         = id("health");
+    /** Missing fraction of max health, 0 to 1. */
+    public static final ResourceLocation MISSING_HEALTH = id("missing_health");
+    /** Class threat plus observed threat ({@link ThreatTracker}), subtracted from a ceiling. */
+    public static final ResourceLocation THREAT         = id("threat");
+    /** Hidden fraction of the candidate, 0 when fully visible. */
+    public static final ResourceLocation HIDDEN         = id("hidden");
+
+    private static final float THREAT_CEILING = 4f;
+
+    private static volatile Map<ResourceLocation, TargetScorer> scorers = Map.of();
+    private static volatile int version = 0;
+
+    static {
+        register(DISTANCE, (buf, view, out) -> {
+            for (int i = 0, n = buf.size(); i < n; i++) out[i] = (float) Math.sqrt(buf.distanceSq(i));
+        });
+        register(ANGLE, new AngleScorer());
+        register(HEALTH, (buf, view, out) -> {
+            for (int i = 0, n = buf.size(); i < n; i++) out[i] = buf.health(i);
+        });
+        register(MISSING_HEALTH, (buf, view, out) -> {
+            for (int i = 0, n = buf.size(); i < n; i++) out[i] = 1f - buf.healthPercent(i);
+        });
+        register(THREAT, (buf, view, out) -> {
+            for (int i = 0, n = buf.size(); i < n; i++) {
+                int category = EntityClassification.classify(buf.entity(i));
+                out[i] = THREAT_CEILING - (float) EntityClassification.threatLevel(category)
+                        - ThreatTracker.observedThreat(buf.id(i));
+            }
+        });
+        register(HIDDEN, (buf, view, out) -> {
+            for (int i = 0, n = buf.size(); i < n; i++) out[i] = 1f - buf.visibility(i);
+        });
+    }
+
+    private TargetScorers() {}
+
+    /**
+     * Registers or replaces the scorer for {@code id}.
+     */
+    public static synchronized void register(ResourceLocation id, TargetScorer scorer) {
+        Map<ResourceLocation, TargetScorer> next = new LinkedHashMap<>(scorers);
+        next.put(id, scorer);
+        scorers = Map.copyOf(next);
+        version++;
+    }
+
+    public static TargetScorer get(ResourceLocation id) {
+        return scorers.get(id);
+    }
+
+    public static Set<ResourceLocation> ids() {
+        return scorers.keySet();
+    }
+
+    public static int version() {
+        return version;
+    }
+
+    private static ResourceLocation id(String path) {
+        return new ResourceLocation(LockOnMod.MOD_ID, path);
+    }
+
+    /**
+     * Packs eye offsets into float columns so the angle pass can run through the kernel.
+     */
+    private static final class AngleScorer implements TargetScorer {
+        private float[] dx = new float[64];
+        private float[] dy = new float[64];
+        private float[] dz = new float[64];
+
+        @Override
+        public void score(CandidateBuffer buf, ScoringView view, float[] out) {
+            int n = buf.size();
+            if (n > dx.length) {
+                int cap = Math.max(n, dx.length * 2);
+                dx = Arrays.copyOf(dx, cap);
+                dy = Arrays.copyOf(dy, cap);
+                dz = Arrays.copyOf(dz, cap);
+            }
+            for (int i = 0; i < n; i++) {
+                dx[i] = (float) (buf.x(i) - view.eyeX());
+                dy[i] = (float) (buf.eyeY(i) - view.eyeY());
+                dz[i] = (float) (buf.z(i) - view.eyeZ());
+            }
+            ScoringKernel.crosshairAngles(dx, dy, dz, n, view.lookX(), view.lookY(), view.lookZ(), out);
+        }
+    }
+}
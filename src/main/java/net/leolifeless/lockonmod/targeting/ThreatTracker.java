@@ -0,0 +1,284 @@
+package net.leolifeless.lockonmod.targeting;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import net.leolifeless.lockonmod.LockOnMod;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.monster.Enemy;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.entity.projectile.Projectile;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Observed threat per entity, from what the client can see happening to the local player.
+ *
+ * Three signals feed the table: the local player's hurt animation, credited to the owner of
+ * a projectile that just reached us or else to the nearest attacker in melee reach;
+ * projectiles whose flight path passes through the player; and mobs that are synced as
+ * aggressive (or targeting us) while facing us. Each event is written into the entity's
+ * fixed-size ring buffer and decays with a half-life of {@link #HALF_LIFE_TICKS}.
+ *
+ * The table has a fixed number of entity slots. Recording an event and reading an entity's
+ * threat are O(1); when every slot is in use, the stalest of a few slots under a clock hand
+ * is evicted.
+ */
+@Mod.EventBusSubscriber(modid = LockOnMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class ThreatTracker {
+
+    private static final int CAPACITY = 64;
+    private static final int RING = 8; // events kept per entity, power of two
+    private static final int EVICTION_PROBES = 4;
+
+    private static final int HALF_LIFE_TICKS = 100;
+    private static final int WINDOW_TICKS = HALF_LIFE_TICKS * 4;
+    private static final float MAX_OBSERVED_THREAT = 4f;
+
+    // Event weights
+    private static final float HURT_THREAT       = 2.0f;
+    private static final float PROJECTILE_THREAT = 1.5f;
+    private static final float AGGRESSION_THREAT = 0.25f;
+
+    private static final int AGGRESSION_SCAN_INTERVAL = 10;
+    private static final double AGGRESSION_RANGE = 24.0;
+    private static final double AGGRESSION_FACING_COS = 0.9;
+    private static final double MELEE_RANGE = 5.0;
+    private static final double PROJECTILE_HIT_RADIUS_SQ = 1.5 * 1.5;
+    private static final double PROJECTILE_NEAR_SQ = 3.0 * 3.0;
+    private static final int PROJECTILE_HIT_WINDOW_TICKS = 2;
+    private static final double PROJECTILE_MAX_LEAD_TICKS = 40.0;
+
+    private static final float[] DECAY = new float[WINDOW_TICKS];
+    static {
+        for (int age = 0; age < WINDOW_TICKS; age++)
+            DECAY[age] = (float) Math.pow(0.5, age / (double) HALF_LIFE_TICKS);
+    }
+
+    // === TABLE ===
+    private static final Int2IntOpenHashMap slotOf = new Int2IntOpenHashMap();
+    private static final int[]   slotEntity  = new int[CAPACITY];
+    private static final long[]  lastEvent   = new long[CAPACITY];
+    private static final int[]   head        = new int[CAPACITY];
+    private static final long[]  eventTick   = new long[CAPACITY * RING];
+    private static final float[] eventAmount = new float[CAPACITY * RING];
+    private static int clockHand = 0;
+
+    // === SIGNAL STATE ===
+    private static final Int2ObjectOpenHashMap<Projectile> projectiles = new Int2ObjectOpenHashMap<>();
+    private static final IntOpenHashSet creditedProjectiles = new IntOpenHashSet();
+    private static final List<LivingEntity> scanScratch = new ArrayList<>();
+    private static long now = 0;
+    private static int lastHurtTime = 0;
+    private static int lastNearOwner = -1;
+    private static long lastNearTick = Long.MIN_VALUE;
+
+    static {
+        slotOf.defaultReturnValue(-1);
+        Arrays.fill(slotEntity, -1);
+    }
+
+    // =========================================================
+    //  EVENTS
+    // =========================================================
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (!event.getLevel().isClientSide()) return;
+        if (event.getEntity() instanceof Projectile projectile) projectiles.put(projectile.getId(), projectile);
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!event.getLevel().isClientSide()) return;
+        if (event.getEntity() instanceof Projectile projectile) {
+            projectiles.remove(projectile.getId());
+            creditedProjectiles.remove(projectile.getId());
+        }
+    }
+
+    // =========================================================
+    //  SIGNALS
+    // =========================================================
+
+    /**
+     * Samples this tick's signals. Call once per client tick after entities have ticked.
+     */
+    public static void tick(LocalPlayer player, ClientLevel level, long gameTime) {
+        now = gameTime;
+
+        scanProjectiles(player, level);
+
+        int hurtTime = player.hurtTime;
+        if (hurtTime > lastHurtTime) onPlayerHurt(player, level);
+        lastHurtTime = hurtTime;
+
+        if (gameTime % AGGRESSION_SCAN_INTERVAL == 0) scanAggression(player, level);
+    }
+
+    private static void scanProjectiles(LocalPlayer player, ClientLevel level) {
+        if (projectiles.isEmpty()) return;
+        Vec3 centre = player.getBoundingBox().getCenter();
+
+        for (Projectile projectile : projectiles.values()) {
+            if (projectile.isRemoved() || projectile.level != level) continue;
+            Entity owner = projectile.getOwner();
+            if (owner == null || owner == player) continue;
+
+            if (projectile.distanceToSqr(centre) < PROJECTILE_NEAR_SQ) {
+                lastNearOwner = owner.getId();
+                lastNearTick = now;
+            }
+            if (creditedProjectiles.contains(projectile.getId())) continue;
+
+            // Closest approach of the straight flight path to the player's centre
+            Vec3 v = projectile.getDeltaMovement();
+            double speedSq = v.lengthSqr();
+            if (speedSq < 1.0E-2) continue;
+            double tx = centre.x - projectile.getX(), ty = centre.y - projectile.getY(), tz = centre.z - projectile.getZ();
+            double lead = (tx * v.x + ty * v.y + tz * v.z) / speedSq;
+            if (lead <= 0.0 || lead > PROJECTILE_MAX_LEAD_TICKS) continue;
+            double mx = tx - v.x * lead, my = ty - v.y * lead, mz = tz - v.z * lead;
+            if (mx * mx + my * my + mz * mz > PROJECTILE_HIT_RADIUS_SQ) continue;
+
+            creditedProjectiles.add(projectile.getId());
+            record(owner.getId(), PROJECTILE_THREAT);
+        }
+    }
+
+    /**
+     * The client is not told who hurt us, so credit the owner of a projectile that just
+     * reached us, or else the nearest attacker in melee reach, preferring one mid-swing.
+     */
+    private static void onPlayerHurt(LocalPlayer player, ClientLevel level) {
+        if (now - lastNearTick <= PROJECTILE_HIT_WINDOW_TICKS && lastNearOwner >= 0) {
+            record(lastNearOwner, HURT_THREAT);
+            return;
+        }
+
+        scanScratch.clear();
+        EntitySpatialGrid.collect(level, player.getBoundingBox().inflate(MELEE_RANGE), player, scanScratch);
+        LivingEntity best = null;
+        double bestDistSq = Double.MAX_VALUE;
+        boolean bestSwinging = false;
+        for (LivingEntity entity : scanScratch) {
+            boolean swinging = entity.swinging;
+            if (!swinging && !isHostileTowards(entity, player)) continue;
+            double distSq = entity.distanceToSqr(player);
+            if (swinging == bestSwinging ? distSq < bestDistSq : swinging) {
+                best = entity;
+                bestDistSq = distSq;
+                bestSwinging = swinging;
+            }
+        }
+        scanScratch.clear();
+        if (best != null) record(best.getId(), HURT_THREAT);
+    }
+
+    private static void scanAggression(LocalPlayer player, ClientLevel level) {
+        scanScratch.clear();
+        EntitySpatialGrid.collect(level, player.getBoundingBox().inflate(AGGRESSION_RANGE), player, scanScratch);
+        Vec3 eye = player.getEyePosition();
+        for (LivingEntity entity : scanScratch) {
+            if (!(entity instanceof Mob mob)) continue;
+            if (mob.getTarget() != player && !(mob.isAggressive() && isFacing(mob, eye))) continue;
+            record(mob.getId(), AGGRESSION_THREAT);
+        }
+        scanScratch.clear();
+    }
+
+    private static boolean isHostileTowards(LivingEntity entity, LocalPlayer player) {
+        if (entity instanceof Enemy) return true;
+        if (entity instanceof Mob mob) return mob.isAggressive() || mob.getTarget() == player;
+        return false;
+    }
+
+    private static boolean isFacing(LivingEntity entity, Vec3 point) {
+        Vec3 to = point.subtract(entity.getEyePosition());
+        double lenSq = to.lengthSqr();
+        if (lenSq == 0.0) return true;
+        return entity.getViewVector(1.0f).dot(to) >= AGGRESSION_FACING_COS * Math.sqrt(lenSq);
+    }
+
+    // =========================================================
+    //  TABLE
+    // =========================================================
+
+    /**
+     * Adds {@code amount} of threat to {@code entityId} at the current tick.
+     */
+    public static void record(int entityId, float amount) {
+        int slot = slotOf.get(entityId);
+        if (slot < 0) slot = claimSlot(entityId);
+
+        int e = slot * RING + head[slot];
+        eventTick[e] = now;
+        eventAmount[e] = amount;
+        head[slot] = (head[slot] + 1) & (RING - 1);
+        lastEvent[slot] = now;
+    }
+
+    /**
+     * Decayed sum of the threat recorded for {@code entityId}, capped at {@link #MAX_OBSERVED_THREAT}.
+     */
+    public static float observedThreat(int entityId) {
+        int slot = slotOf.get(entityId);
+        if (slot < 0 || now - lastEvent[slot] >= WINDOW_TICKS) return 0f;
+
+        float sum = 0f;
+        for (int e = slot * RING, end = e + RING; e < end; e++) {
+            long age = now - eventTick[e];
+            if (age >= 0 && age < WINDOW_TICKS) sum += eventAmount[e] * DECAY[(int) age];
+        }
+        return Math.min(sum, MAX_OBSERVED_THREAT);
+    }
+
+    public static int trackedCount() {
+        return slotOf.size();
+    }
+
+    public static void clear() {
+        slotOf.clear();
+        Arrays.fill(slotEntity, -1);
+        Arrays.fill(eventAmount, 0f);
+        projectiles.clear();
+        creditedProjectiles.clear();
+        scanScratch.clear();
+        clockHand = 0;
+        now = 0;
+        lastHurtTime = 0;
+        lastNearOwner = -1;
+        lastNearTick = Long.MIN_VALUE;
+    }
+
+    private static int claimSlot(int entityId) {
+        // Take the stalest of the next few slots under the clock hand
+        int slot = clockHand;
+        for (int p = 0; p < EVICTION_PROBES; p++) {
+            int candidate = (clockHand + p) % CAPACITY;
+            if (slotEntity[candidate] < 0) { slot = candidate; break; }
+            if (lastEvent[candidate] < lastEvent[slot]) slot = candidate;
+        }
+        clockHand = (slot + 1) % CAPACITY;
+
+        if (slotEntity[slot] >= 0) slotOf.remove(slotEntity[slot]);
+        slotEntity[slot] = entityId;
+        slotOf.put(entityId, slot);
+        head[slot] = 0;
+        Arrays.fill(eventAmount, slot * RING, slot * RING + RING, 0f);
+        return slot;
+    }
+}
@@ -0,0 +1,140 @@
+package net.leolifeless.lockonmod.targeting;
+
+import java.util.Arrays;
+
+/**
+ * Rank-then-truncate selection over a {@link CandidateBuffer}.
+ *
+ * Candidates are ranked on their cheap {@link CandidateBuffer#score(int)} (lower is better)
+ * with a bounded heap, and only the heap survivors are handed to the expensive visibility
+ * test, best first. If some survivors turn out to be hidden, the next best unexamined
+ * candidates are ranked in another round until {@code k} visible targets are found or the
+ * buffer is exhausted. A survivor whose visibility is still {@link #PENDING} is dropped but
+ * keeps its slot, so at most {@code k} candidates are ever tested in one call. The worst kept
+ * score sits at the heap root so a better candidate replaces it in O(log k).
+ */
+public class TopKSelector {
+
+    // Visibility test results
+    public static final int HIDDEN  = 0;
+    public static final int VISIBLE = 1;
+    public static final int PENDING = -1;
+
+    @FunctionalInterface
+    public interface VisibilityTest {
+        /** {@link #VISIBLE}, {@link #HIDDEN} or {@link #PENDING} for buffer slot {@code slot}. */
+        int test(int slot);
+    }
+
+    private int[]     heapIdx   = new int[16];
+    private double[]  heapScore = new double[16];
+    private int       heapSize  = 0;
+
+    private int[]     order     = new int[16];
+    private int[]     result    = new int[16];
+    private boolean[] examined  = new boolean[16];
+
+    /**
+     * Selects up to {@code k} slots that {@code visible} reports as visible, in ascending score
+     * order, and compacts {@code buf} down to exactly those slots. Pending slots count toward
+     * {@code k} without being kept.
+     *
+     * @return the number of slots kept
+     */
+    public int selectVisible(CandidateBuffer buf, int k, VisibilityTest visible) {
+        int n = buf.size();
+        if (k <= 0 || n == 0) { buf.truncate(0); return 0; }
+        ensureCapacity(n, k);
+        Arrays.fill(examined, 0, n, false);
+
+        int found = 0, pending = 0;
+        while (found + pending < k) {
+            int want = k - found - pending;
+            heapSize = 0;
+            for (int i = 0; i < n; i++) {
+                if (!examined[i]) offer(i, buf.score(i), want);
+            }
+            if (heapSize == 0) break;
+
+            int m = drainAscending();
+            for (int j = 0; j < m; j++) {
+                int idx = order[j];
+                examined[idx] = true;
+                int state = visible.test(idx);
+                if (state == VISIBLE) result[found++] = idx;
+                else if (state == PENDING) pending++;
+            }
+        }
+
+        buf.retainInOrder(result, found);
+        return found;
+    }
+
+    private void offer(int idx, double score, int capacity) {
+        if (heapSize < capacity) {
+            heapIdx[heapSize] = idx;
+            heapScore[heapSize] = score;
+            siftUp(heapSize++);
+        } else if (score < heapScore[0]) {
+            heapIdx[0] = idx;
+            heapScore[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empties the heap into {@link #order}, best score first.
+     */
+    private int drainAscending() {
+        int m = heapSize;
+        for (int j = m - 1; j >= 0; j--) {
+            order[j] = heapIdx[0];
+            heapSize--;
+            if (heapSize > 0) {
+                heapIdx[0] = heapIdx[heapSize];
+                heapScore[0] = heapScore[heapSize];
+                siftDown(0);
+            }
+        }
+        return m;
+    }
+
+    // Max-heap on score: the root is the worst candidate still kept
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapScore[parent] >= heapScore[i]) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= heapSize) return;
+            int largest = left;
+            int right = left + 1;
+            if (right < heapSize && heapScore[right] > heapScore[left]) largest = right;
+            if (heapScore[i] >= heapScore[largest]) return;
+            swap(i, largest);
+            i = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int ti = heapIdx[a]; heapIdx[a] = heapIdx[b]; heapIdx[b] = ti;
+        double ts = heapScore[a]; heapScore[a] = heapScore[b]; heapScore[b] = ts;
+    }
+
+    private void ensureCapacity(int n, int k) {
+        int heapCap = Math.min(n, k);
+        if (heapIdx.length < heapCap) {
+            heapIdx = new int[heapCap];
+            heapScore = new double[heapCap];
+            order = new int[heapCap];
+        }
+        if (result.length < heapCap) result = new int[heapCap];
+        if (examined.length < n) examined = new boolean[n];
+    }
+}
@@ -0,0 +1,58 @@
+package net.leolifeless.lockonmod.camera;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FastAnglesTest {
+
+    // The bound documented on FastAngles
+    private static final double MAX_ERROR = 1.7e-6;
+
+    @Test
+    void atan2StaysWithinItsBound() {
+        Random random = new Random(1234);
+        double worst = 0;
+        for (int i = 0; i < 10_000_000; i++) {
+            // Spread the magnitudes so both tiny and huge ratios are covered
+            double y = (random.nextDouble() * 2 - 1) * Math.pow(10, random.nextInt(7) - 3);
+            double x = (random.nextDouble() * 2 - 1) * Math.pow(10, random.nextInt(7) - 3);
+            worst = Math.max(worst, Math.abs(FastAngles.atan2(y, x) - Math.atan2(y, x)));
+        }
+        assertTrue(worst <= MAX_ERROR, "max atan2 error " + worst);
+    }
+
+    @Test
+    void atan2HandlesAxesAndOrigin() {
+        assertEquals(0.0, FastAngles.atan2(0.0, 0.0), 0.0);
+        assertEquals(0.0, FastAngles.atan2(0.0, 1.0), MAX_ERROR);
+        assertEquals(Math.PI / 2, FastAngles.atan2(1.0, 0.0), MAX_ERROR);
+        assertEquals(Math.PI, FastAngles.atan2(0.0, -1.0), MAX_ERROR);
+        assertEquals(-Math.PI / 2, FastAngles.atan2(-1.0, 0.0), MAX_ERROR);
+        assertEquals(Math.PI / 4, FastAngles.atan2(2.0, 2.0), MAX_ERROR);
+        assertEquals(-3 * Math.PI / 4, FastAngles.atan2(-2.0, -2.0), MAX_ERROR);
+    }
+
+    @Test
+    void asinAndAcosStayWithinTheBound() {
+        double worstAsin = 0, worstAcos = 0;
+        for (int i = -1_000_000; i <= 1_000_000; i++) {
+            double v = i / 1_000_000.0;
+            worstAsin = Math.max(worstAsin, Math.abs(FastAngles.asin(v) - Math.asin(v)));
+            worstAcos = Math.max(worstAcos, Math.abs(FastAngles.acos(v) - Math.acos(v)));
+        }
+        assertTrue(worstAsin <= MAX_ERROR, "max asin error " + worstAsin);
+        assertTrue(worstAcos <= MAX_ERROR, "max acos error " + worstAcos);
+    }
+
+    @Test
+    void asinAndAcosClampTheirInput() {
+        assertEquals(Math.PI / 2, FastAngles.asin(1.5), MAX_ERROR);
+        assertEquals(-Math.PI / 2, FastAngles.asin(-1.5), MAX_ERROR);
+        assertEquals(0.0, FastAngles.acos(1.5), MAX_ERROR);
+        assertEquals(Math.PI, FastAngles.acos(-1.5), MAX_ERROR);
+    }
+}
@@ -0,0 +1,100 @@
+package net.leolifeless.lockonmod.compat;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Locale;
+
+/**
+ * Compares the per-frame Leawind rotation write through {@code Field.get/set}, as before, with
+ * the static final {@link MethodHandle}s {@link LeawindCompat} binds now.
+ *
+ * Leawind is not on the test classpath, so {@link CameraAgent} and {@link Vector2d} stand in
+ * for its camera agent and JOML's vector with the same field shapes: a private object field on
+ * the agent and public double x and y on the vector. Run {@code main} by hand; it is not a test.
+ */
+public final class LeawindAccessorBenchmark {
+
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 10;
+    private static final int WRITES_PER_ROUND = 5_000_000;
+    // Several agents, so the JIT cannot fold a round into its last write
+    private static final int AGENTS = 1024;
+
+    static final class Vector2d {
+        public double x, y;
+    }
+
+    static final class CameraAgent {
+        private final Vector2d relativeRotation = new Vector2d();
+    }
+
+    private static final Field RELATIVE_ROTATION_FIELD;
+    private static final Field X_FIELD, Y_FIELD;
+    private static final MethodHandle RELATIVE_ROTATION;
+    private static final MethodHandle SET_X, SET_Y;
+
+    static {
+        try {
+            RELATIVE_ROTATION_FIELD = CameraAgent.class.getDeclaredField("relativeRotation");
+            RELATIVE_ROTATION_FIELD.setAccessible(true);
+            X_FIELD = Vector2d.class.getField("x");
+            Y_FIELD = Vector2d.class.getField("y");
+
+            // Bound with the same erased types as LeawindCompat.Handles
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType doubleSetter = MethodType.methodType(void.class, Object.class, double.class);
+            RELATIVE_ROTATION = lookup.unreflectGetter(RELATIVE_ROTATION_FIELD)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            SET_X = lookup.unreflectSetter(X_FIELD).asType(doubleSetter);
+            SET_Y = lookup.unreflectSetter(Y_FIELD).asType(doubleSetter);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private LeawindAccessorBenchmark() {}
+
+    public static void main(String[] args) throws Throwable {
+        CameraAgent[] agents = new CameraAgent[AGENTS];
+        for (int i = 0; i < AGENTS; i++) agents[i] = new CameraAgent();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            reflection(agents);
+            methodHandles(agents);
+        }
+
+        long reflection = Long.MAX_VALUE, handles = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            reflection = Math.min(reflection, reflection(agents));
+            handles = Math.min(handles, methodHandles(agents));
+        }
+        System.out.printf(Locale.ROOT, "Field.get/set:  %.2f ns per write%n", reflection / (double) WRITES_PER_ROUND);
+        System.out.printf(Locale.ROOT, "MethodHandles:  %.2f ns per write%n", handles / (double) WRITES_PER_ROUND);
+        double check = 0;
+        for (CameraAgent agent : agents) check += agent.relativeRotation.x + agent.relativeRotation.y;
+        System.out.printf(Locale.ROOT, "Check: %.1f%n", check);
+    }
+
+    private static long reflection(CameraAgent[] agents) throws IllegalAccessException {
+        long start = System.nanoTime();
+        for (int i = 0; i < WRITES_PER_ROUND; i++) {
+            float yaw = i * 0.01f, pitch = -yaw;
+            Object relRot = RELATIVE_ROTATION_FIELD.get(agents[i & (AGENTS - 1)]);
+            X_FIELD.set(relRot, (double) -pitch);
+            Y_FIELD.set(relRot, (double) (yaw - 180.0));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long methodHandles(CameraAgent[] agents) throws Throwable {
+        long start = System.nanoTime();
+        for (int i = 0; i < WRITES_PER_ROUND; i++) {
+            float yaw = i * 0.01f, pitch = -yaw;
+            Object relRot = (Object) RELATIVE_ROTATION.invokeExact((Object) agents[i & (AGENTS - 1)]);
+            SET_X.invokeExact(relRot, (double) -pitch);
+            SET_Y.invokeExact(relRot, (double) (yaw - 180.0));
+        }
+        return System.nanoTime() - start;
+    }
+}
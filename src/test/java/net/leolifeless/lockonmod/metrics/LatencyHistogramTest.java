@@ -0,0 +1,85 @@
+package net.leolifeless.lockonmod.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void everyValueFallsWithinItsBucket() {
+        Random random = new Random(99);
+        for (int i = 0; i < 1_000_000; i++) {
+            long nanos = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            if (nanos >= 1L << 40) continue; // clamped into the last bucket
+            long upper = LatencyHistogram.upperBound(bucket);
+            long lower = bucket == 0 ? 0 : LatencyHistogram.upperBound(bucket - 1) + 1;
+            assertTrue(lower <= nanos && nanos <= upper,
+                    () -> nanos + " outside bucket " + bucket + " [" + lower + ", " + upper + "]");
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinAQuarter() {
+        long previous = -1;
+        for (int bucket = 0; LatencyHistogram.upperBound(bucket) < 1L << 40; bucket++) {
+            long lower = previous + 1;
+            long upper = LatencyHistogram.upperBound(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(lower));
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            // The documented bound: a reported upper bound overstates a value by at most 25%
+            assertTrue(upper - lower <= Math.max(0, lower / 4), "bucket " + bucket + " too wide");
+            previous = upper;
+        }
+    }
+
+    @Test
+    void hugeAndNegativeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.count());
+        assertEquals(0, histogram.percentile(0.0));
+        assertEquals(Long.MAX_VALUE, histogram.max());
+    }
+
+    @Test
+    void percentilesTrackTheExactValues() {
+        Random random = new Random(5);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            // Roughly log-normal, as frame and tick timings are
+            samples[i] = (long) Math.exp(10 + random.nextGaussian());
+            histogram.record(samples[i]);
+        }
+        Arrays.sort(samples);
+
+        for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            long exact = samples[(int) Math.ceil(quantile * samples.length) - 1];
+            long reported = histogram.percentile(quantile);
+            assertTrue(reported >= exact && reported <= exact + exact / 4,
+                    () -> "p" + quantile + " reported " + reported + " for " + exact);
+        }
+        assertEquals(samples[samples.length - 1], histogram.percentile(1.0));
+    }
+
+    @Test
+    void emptyAndResetHistogramsReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.5));
+
+        histogram.record(1000);
+        histogram.reset();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(0.99));
+        assertEquals(0, histogram.max());
+    }
+}
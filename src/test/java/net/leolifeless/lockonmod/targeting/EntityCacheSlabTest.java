@@ -0,0 +1,52 @@
+package net.leolifeless.lockonmod.targeting;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EntityCacheSlabTest {
+
+    private static final long MAX_AGE_MS = 1000;
+
+    @Test
+    void clearRetiresEveryEntry() {
+        EntityCacheSlab slab = new EntityCacheSlab();
+        for (int id = 0; id < 100; id++) slab.putValidity(id, true, 0);
+
+        slab.clear();
+
+        for (int id = 0; id < 100; id++) assertEquals(-1, slab.getValidity(id, 0, MAX_AGE_MS));
+    }
+
+    @Test
+    void levelChangesDoNotGrowTheTable() {
+        EntityCacheSlab slab = new EntityCacheSlab();
+
+        // Every level hands out fresh entity ids, as a reconnect or dimension change does.
+        // Retired slots may force one early grow, after that the table must stay put.
+        int nextId = 0;
+        for (int level = 0; level < 10; level++) nextId = fillLevel(slab, nextId, level);
+        int capacity = slab.capacity();
+        for (int level = 10; level < 10_000; level++) nextId = fillLevel(slab, nextId, level);
+
+        assertEquals(capacity, slab.capacity());
+    }
+
+    @Test
+    void liveEntriesSurviveOneGeneration() {
+        EntityCacheSlab slab = new EntityCacheSlab();
+        slab.putValidity(7, false, 0);
+
+        slab.advanceGeneration();
+        assertEquals(0, slab.getValidity(7, 0, MAX_AGE_MS));
+
+        slab.advanceGeneration();
+        assertEquals(-1, slab.getValidity(7, 0, MAX_AGE_MS));
+    }
+
+    private static int fillLevel(EntityCacheSlab slab, int firstId, long now) {
+        for (int i = 0; i < 100; i++) slab.putValidity(firstId + i, true, now);
+        slab.clear();
+        return firstId + 100;
+    }
+}
@@ -0,0 +1,90 @@
+package net.leolifeless.lockonmod.targeting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoringKernelTest {
+
+    private static final int CANDIDATES = 2048;
+    private static final float ACOS_ERROR = 7e-5f;
+    // The polynomial's bound plus float rounding of the dot product and square root
+    private static final double ANGLE_TOLERANCE = 1e-4;
+
+    @Test
+    void acosStaysWithinItsBound() {
+        double worst = 0;
+        for (int i = -100_000; i <= 100_000; i++) {
+            float x = i / 100_000f;
+            worst = Math.max(worst, Math.abs(ScoringKernel.acos(x) - Math.acos(x)));
+        }
+        assertTrue(worst < ACOS_ERROR, "max acos error " + worst);
+    }
+
+    @Test
+    void crosshairAnglesMatchScalarAcos() {
+        Random random = new Random(42);
+        float[] dx = new float[CANDIDATES], dy = new float[CANDIDATES], dz = new float[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            dx[i] = (random.nextFloat() - 0.5f) * 128f;
+            dy[i] = (random.nextFloat() - 0.5f) * 32f;
+            dz[i] = (random.nextFloat() - 0.5f) * 128f;
+        }
+        double lx = 0.3, ly = -0.2, lz = 0.9;
+        double len = Math.sqrt(lx * lx + ly * ly + lz * lz);
+        float lookX = (float) (lx / len), lookY = (float) (ly / len), lookZ = (float) (lz / len);
+
+        float[] out = new float[CANDIDATES];
+        ScoringKernel.crosshairAngles(dx, dy, dz, CANDIDATES, lookX, lookY, lookZ, out);
+
+        for (int i = 0; i < CANDIDATES; i++) {
+            double dist = Math.sqrt((double) dx[i] * dx[i] + (double) dy[i] * dy[i] + (double) dz[i] * dz[i]);
+            double cos = (lookX * (double) dx[i] + lookY * (double) dy[i] + lookZ * (double) dz[i]) / dist;
+            double expected = Math.acos(Math.max(-1.0, Math.min(1.0, cos)));
+            assertEquals(expected, out[i], ANGLE_TOLERANCE, "candidate " + i);
+        }
+    }
+
+    @Test
+    void zeroOffsetCountsAsStraightAhead() {
+        float[] zero = {0f};
+        float[] out = new float[1];
+        ScoringKernel.crosshairAngles(zero, zero, zero, 1, 0f, 0f, 1f, out);
+        assertEquals(0f, out[0], ACOS_ERROR);
+    }
+
+    @Test
+    void weightedSumMatchesScalarScore() {
+        Random random = new Random(7);
+        int terms = 4;
+        float[][] columns = new float[terms][CANDIDATES];
+        for (float[] column : columns) {
+            for (int i = 0; i < CANDIDATES; i++) column[i] = random.nextFloat() * 64f;
+        }
+        float[] weights = {0.4f, 0.3f, 0.2f, 0.1f};
+
+        float[] out = new float[CANDIDATES];
+        ScoringKernel.weightedSum(columns, weights, terms, CANDIDATES, out);
+
+        for (int i = 0; i < CANDIDATES; i++) {
+            double expected = 0;
+            for (int k = 0; k < terms; k++) expected += (double) columns[k][i] * weights[k];
+            assertEquals(expected, out[i], Math.abs(expected) * 1e-6 + 1e-6, "candidate " + i);
+        }
+    }
+
+    @Test
+    void weightedSumOnlyUsesTheRequestedTerms() {
+        float[][] columns = {{1f, 2f}, {10f, 20f}, {100f, 200f}};
+        float[] weights = {1f, 1f, 1f};
+        float[] out = new float[2];
+
+        ScoringKernel.weightedSum(columns, weights, 2, 2, out);
+
+        assertEquals(11f, out[0], 0f);
+        assertEquals(22f, out[1], 0f);
+    }
+}